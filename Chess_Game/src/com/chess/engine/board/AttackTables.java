@@ -0,0 +1,164 @@
+package com.chess.engine.board;
+
+import java.util.Arrays;
+
+import com.chess.engine.Alliance;
+
+/**This class holds the attack sets of every piece movement pattern for
+every tile of the board. The tables are built once when the class is
+loaded, so the move generators never have to deal with the board edges
+themselves.*/
+public final class AttackTables {
+
+    // Ray directions, ordered by their tile coordinate offset
+    public static final int NORTH_WEST = 0;
+    public static final int NORTH = 1;
+    public static final int NORTH_EAST = 2;
+    public static final int WEST = 3;
+    public static final int EAST = 4;
+    public static final int SOUTH_WEST = 5;
+    public static final int SOUTH = 6;
+    public static final int SOUTH_EAST = 7;
+    public static final int NUM_DIRECTIONS = 8;
+
+    public static final int[] ROOK_DIRECTIONS = {NORTH, WEST, EAST, SOUTH};
+    public static final int[] BISHOP_DIRECTIONS = {NORTH_WEST, NORTH_EAST, SOUTH_WEST, SOUTH_EAST};
+    public static final int[] QUEEN_DIRECTIONS = {NORTH_WEST, NORTH, NORTH_EAST, WEST,
+                                                  EAST, SOUTH_WEST, SOUTH, SOUTH_EAST};
+
+    // (rank, file) steps of each direction, the eighth rank is rank 0
+    private static final int[][] DIRECTION_STEPS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1},
+                                                    {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    private static final int[][] KNIGHT_STEPS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2},
+                                                 {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+
+    public static final long[] KNIGHT_ATTACKS = initStepAttacks(KNIGHT_STEPS);
+    public static final long[] KING_ATTACKS = initStepAttacks(DIRECTION_STEPS);
+    // Indexed by the alliance ordinal of the attacking pawn, then by tile
+    public static final long[][] PAWN_ATTACKS = initPawnAttacks();
+
+    // All tiles from a tile to the edge of the board in a direction, [direction][tile]
+    public static final long[][] RAYS = initRays();
+    // Same tiles as 'RAYS', listed from nearest to farthest
+    public static final int[][][] RAY_SQUARES = initRaySquares();
+
+    // Tiles strictly between two tiles on a shared line, [from][to], empty if not on a line
+    public static final long[][] BETWEEN = initBetween();
+    // The whole board line through two tiles, [from][to], empty if not on a line
+    public static final long[][] LINE = initLine();
+
+    private AttackTables(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    public static long pawnAttacks(final Alliance alliance, final int tileCoordinate){
+        return PAWN_ATTACKS[alliance.ordinal()][tileCoordinate];
+    }
+
+    // Attacked tiles along the rays, up to and including the first occupied tile.
+    // Walks the rays one by one, the move generators use the faster 'MagicBitboards' lookup
+    public static long slidingAttacks(final int tileCoordinate, final long occupied, final int[] directions){
+        long attacks = BitBoards.EMPTY;
+        for(final int direction : directions){
+            final long ray = RAYS[direction][tileCoordinate];
+            final long blockers = ray & occupied;
+            if(blockers == 0){
+                attacks |= ray;
+                continue;
+            }
+            // Rays with a positive offset head towards higher coordinates
+            final int blocker = direction >= EAST ? Long.numberOfTrailingZeros(blockers)
+                                                  : 63 - Long.numberOfLeadingZeros(blockers);
+            attacks |= ray ^ RAYS[direction][blocker];
+        }
+        return attacks;
+    }
+
+    private static long[] initStepAttacks(final int[][] steps){
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+            for(final int[] step : steps){
+                final int rank = tile / 8 + step[0];
+                final int file = tile % 8 + step[1];
+                if(isOnBoard(rank, file)){
+                    attacks[tile] |= BitBoards.squareBit(rank * 8 + file);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    private static long[][] initPawnAttacks(){
+        final long[][] attacks = new long[2][BoardUtils.NUM_TILES];
+        for(final Alliance alliance : Alliance.values()){
+            // A pawn moves towards the rank in its direction, one step per rank
+            final int[][] steps = {{alliance.getDirection(), -1}, {alliance.getDirection(), 1}};
+            attacks[alliance.ordinal()] = initStepAttacks(steps);
+        }
+        return attacks;
+    }
+
+    private static long[][] initRays(){
+        final long[][] rays = new long[NUM_DIRECTIONS][BoardUtils.NUM_TILES];
+        final int[][][] raySquares = initRaySquares();
+        for(int direction = 0; direction < NUM_DIRECTIONS; direction++){
+            for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+                for(final int square : raySquares[direction][tile]){
+                    rays[direction][tile] |= BitBoards.squareBit(square);
+                }
+            }
+        }
+        return rays;
+    }
+
+    private static int[][][] initRaySquares(){
+        final int[][][] raySquares = new int[NUM_DIRECTIONS][BoardUtils.NUM_TILES][];
+        for(int direction = 0; direction < NUM_DIRECTIONS; direction++){
+            final int[] step = DIRECTION_STEPS[direction];
+            for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+                final int[] squares = new int[BoardUtils.NUM_TILES_PER_RANK];
+                int length = 0;
+                int rank = tile / 8 + step[0];
+                int file = tile % 8 + step[1];
+                while(isOnBoard(rank, file)){
+                    squares[length++] = rank * 8 + file;
+                    rank += step[0];
+                    file += step[1];
+                }
+                raySquares[direction][tile] = Arrays.copyOf(squares, length);
+            }
+        }
+        return raySquares;
+    }
+
+    private static long[][] initBetween(){
+        final long[][] between = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        for(int from = 0; from < BoardUtils.NUM_TILES; from++){
+            for(int direction = 0; direction < NUM_DIRECTIONS; direction++){
+                for(final int to : RAY_SQUARES[direction][from]){
+                    between[from][to] = RAYS[direction][from] & ~RAYS[direction][to] & ~BitBoards.squareBit(to);
+                }
+            }
+        }
+        return between;
+    }
+
+    private static long[][] initLine(){
+        final long[][] line = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        for(int from = 0; from < BoardUtils.NUM_TILES; from++){
+            for(int direction = 0; direction < NUM_DIRECTIONS; direction++){
+                // Directions are listed so that the opposite direction is mirrored
+                final long fullLine = RAYS[direction][from] | RAYS[NUM_DIRECTIONS - 1 - direction][from]
+                                      | BitBoards.squareBit(from);
+                for(final int to : RAY_SQUARES[direction][from]){
+                    line[from][to] = fullLine;
+                }
+            }
+        }
+        return line;
+    }
+
+    private static boolean isOnBoard(final int rank, final int file){
+        return rank >= 0 && rank < 8 && file >= 0 && file < 8;
+    }
+}
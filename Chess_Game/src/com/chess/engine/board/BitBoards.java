@@ -0,0 +1,46 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+
+/**This class holds the helpers for working with 64-bit board masks.
+Bit 'n' of a mask corresponds to tile coordinate 'n' (bit 0 is a8 and
+bit 63 is h1), so the masks share the coordinate system of the tiles.*/
+public final class BitBoards {
+
+    public static final long EMPTY = 0L;
+    public static final long FULL = ~0L;
+
+    // Number of piece bitboards (six piece types for each alliance)
+    public static final int NUM_PIECE_BITBOARDS = 12;
+    public static final int NUM_PIECE_TYPES = 6;
+
+    private BitBoards(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    public static long squareBit(final int tileCoordinate) {
+        return 1L << tileCoordinate;
+    }
+
+    public static boolean isSet(final long bitBoard, final int tileCoordinate) {
+        return (bitBoard & (1L << tileCoordinate)) != 0;
+    }
+
+    // Index of the bitboard holding the pieces of the given type and alliance
+    public static int pieceIndex(final PieceType pieceType, final Alliance alliance) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    public static int firstSquare(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    public static long clearFirstSquare(final long bitBoard) {
+        return bitBoard & (bitBoard - 1);
+    }
+
+    public static int count(final long bitBoard) {
+        return Long.bitCount(bitBoard);
+    }
+}
@@ -0,0 +1,38 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+
+/**This interface is the bitboard view of a chess position shared by the
+immutable 'Board' and the mutable 'SearchPosition', so code such as the
+'LegalMoveGenerator' works on both.*/
+public interface BitboardPosition {
+
+    // Castling right flags returned by 'getCastlingRights'
+    int WHITE_KING_SIDE = 1;
+    int WHITE_QUEEN_SIDE = 2;
+    int BLACK_KING_SIDE = 4;
+    int BLACK_QUEEN_SIDE = 8;
+
+    // Returned by 'getEnPassantSquare' when there is no en passant capture
+    int NO_SQUARE = -1;
+
+    long getPieceBitBoard(PieceType pieceType, Alliance alliance);
+
+    long getAllianceBitBoard(Alliance alliance);
+
+    long getOccupiedBitBoard();
+
+    // Type of the piece on the tile, or null if the tile is empty
+    PieceType getPieceTypeAt(int tileCoordinate);
+
+    Alliance getSideToMove();
+
+    int getCastlingRights();
+
+    // The tile a pawn of the side to move captures en passant on
+    int getEnPassantSquare();
+
+    // Zobrist key of the position, see 'ZobristHashing'
+    long getZobristKey();
+}
@@ -1,47 +1,102 @@
 package com.chess.engine.board;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
 import com.chess.engine.board.move.Move;
-import com.chess.engine.pieces.Bishop;
-import com.chess.engine.pieces.King;
-import com.chess.engine.pieces.Knight;
+import com.chess.engine.board.move.MoveIndex;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
-import com.chess.engine.pieces.Queen;
-import com.chess.engine.pieces.Rook;
+import com.chess.engine.pieces.PieceCache;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
-public class Board {
-    private final List<Tile> gameBoard;
-    private final Collection<Piece> whitePieces;
-    private final Collection<Piece> blackPieces;
+public class Board implements BitboardPosition {
+    // Piece placement, indexed by tile coordinate (null for an empty tile)
+    // Package-private, so a 'Builder' can start from the placement of this board
+    final Piece[] gameBoard;
+    // One bitboard per piece type and alliance, see 'BitBoards.pieceIndex'
+    final long[] pieceBitBoards;
+    private final long whiteBitBoard;
+    private final long blackBitBoard;
+    private final long occupiedBitBoard;
+    // Zobrist key of the placement carried over from the 'Builder', and of the whole position
+    final long placementKey;
+    private final long zobristKey;
+
+    // Active pieces are collected from the bitboards when first requested
+    private Collection<Piece> whitePieces;
+    private Collection<Piece> blackPieces;
 
     private final WhitePlayer whitePlayer;
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
     private final Pawn enPassantPawn; 
 
+    // Piece moves are only calculated when first requested, then cached
+    private Collection<Move> whitePieceMoves;
+    private Collection<Move> blackPieceMoves;
+    // Legal moves of both players by tile coordinates, built on first lookup
+    private MoveIndex moveIndex;
+
     // Board constructor
     Board(final Builder builder){
-        this.gameBoard = createGameBoard(builder);
-        // This line MUST be above the 'calculateActivePieces'
+        // Taken over from the builder, which copies them before it changes them again
+        this.gameBoard = builder.boardConfig;
+        this.pieceBitBoards = builder.pieceBitBoards;
+        this.whiteBitBoard = calculateAllianceBitBoard(this.pieceBitBoards, Alliance.WHITE);
+        this.blackBitBoard = calculateAllianceBitBoard(this.pieceBitBoards, Alliance.BLACK);
+        this.occupiedBitBoard = this.whiteBitBoard | this.blackBitBoard;
         this.enPassantPawn = builder.enPassantPawn; 
-        this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
-        
-        final Collection<Move> whiteLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackLegalMoves = calculateLegalMoves(this.blackPieces);
-    
-        this.whitePlayer = new WhitePlayer(this, whiteLegalMoves, blackLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteLegalMoves, blackLegalMoves);
+
+        // Players are cheap to create, their moves and check status are lazy
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextPlayer.choosePlayer(this.whitePlayer, this.blackPlayer);
+
+        // Only the placement part of the key is carried from move to move, the rest is a few XORs
+        this.placementKey = builder.placementKey;
+        this.zobristKey = this.placementKey
+                          ^ ZobristHashing.castlingKey(getCastlingRights())
+                          ^ ZobristHashing.enPassantKey(getEnPassantSquare())
+                          ^ ZobristHashing.sideToMoveKey(getSideToMove());
+        if(ZobristHashing.VERIFY){
+            ZobristHashing.verify(this);
+        }
+    }
+
+    @Override
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    // Two boards are equal when they hold the same position: placement, player to move,
+    // castling rights and en passant tile. The Zobrist key rules out almost all other boards.
+    @Override
+    public boolean equals(final Object other){
+        if(this == other){
+            return true;
+        }
+        if(!(other instanceof Board)){
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+        return this.zobristKey == otherBoard.zobristKey
+               && Arrays.equals(this.pieceBitBoards, otherBoard.pieceBitBoards)
+               && getSideToMove() == otherBoard.getSideToMove()
+               && getCastlingRights() == otherBoard.getCastlingRights()
+               && getEnPassantSquare() == otherBoard.getEnPassantSquare();
+    }
+
+    @Override
+    public int hashCode(){
+        return Long.hashCode(this.zobristKey);
     }
 
     // Override the object print method
@@ -49,7 +104,7 @@ public class Board {
     public String toString(){
         final StringBuilder builder = new StringBuilder();
         for(int i = 0; i < BoardUtils.NUM_TILES; i++){
-            final String tileText = this.gameBoard.get(i).toString();
+            final String tileText = getTile(i).toString();
 
             builder.append(String.format("%3s", tileText));
 
@@ -61,6 +116,20 @@ public class Board {
         return builder.toString();
     }
 
+    // Moves of all the pieces of an alliance, without the castling moves
+    public Collection<Move> getPieceLegalMoves(final Alliance alliance) {
+        if(alliance.isWhite()){
+            if(this.whitePieceMoves == null){
+                this.whitePieceMoves = calculateLegalMoves(getWhitePieces());
+            }
+            return this.whitePieceMoves;
+        }
+        if(this.blackPieceMoves == null){
+            this.blackPieceMoves = calculateLegalMoves(getBlackPieces());
+        }
+        return this.blackPieceMoves;
+    }
+
     private Collection<Move> calculateLegalMoves(Collection<Piece> pieces) {
         final List<Move> legalMoves = new ArrayList<>();
 
@@ -70,73 +139,128 @@ public class Board {
         return ImmutableList.copyOf(legalMoves);
     }
 
-    private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
-        final List<Piece> activePieces = new ArrayList<>();
-        
-        for(final Tile tile:gameBoard){
-            if(tile.isTileOccupied()){
-                // Get the piece at this tile
-                final Piece piece = tile.getPiece(); 
-                
-                if(piece.getPieceAlliance() == alliance){
-                    activePieces.add(piece);
-                }
-            }
+    private static Collection<Piece> calculateActivePieces(final Piece[] gameBoard, final long allianceBitBoard) {
+        final Piece[] activePieces = new Piece[BitBoards.count(allianceBitBoard)];
+        int index = 0;
+
+        // Only visit the occupied tiles of this alliance 
+        for(long remaining = allianceBitBoard; remaining != 0; remaining = BitBoards.clearFirstSquare(remaining)){
+            activePieces[index++] = gameBoard[BitBoards.firstSquare(remaining)];
         }
         return ImmutableList.copyOf(activePieces);
     }
 
+    // Tiles are a view over the piece placement and are only created on request
     public Tile getTile(final int tileCoordinate) {
-        return gameBoard.get(tileCoordinate);
+        return Tile.createTile(tileCoordinate, this.gameBoard[tileCoordinate]);
+    }
+
+    public Piece getPiece(final int tileCoordinate) {
+        return this.gameBoard[tileCoordinate];
+    }
+
+    public boolean isTileOccupied(final int tileCoordinate) {
+        return BitBoards.isSet(this.occupiedBitBoard, tileCoordinate);
+    }
+
+    @Override
+    public PieceType getPieceTypeAt(final int tileCoordinate) {
+        final Piece piece = this.gameBoard[tileCoordinate];
+        return piece == null ? null : piece.getPieceType();
+    }
+
+    @Override
+    public long getPieceBitBoard(final PieceType pieceType, final Alliance alliance) {
+        return this.pieceBitBoards[BitBoards.pieceIndex(pieceType, alliance)];
+    }
+
+    @Override
+    public long getAllianceBitBoard(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteBitBoard : this.blackBitBoard;
+    }
+
+    @Override
+    public long getOccupiedBitBoard() {
+        return this.occupiedBitBoard;
+    }
+
+    @Override
+    public Alliance getSideToMove() {
+        return this.currentPlayer.getAlliance();
+    }
+
+    // The board keeps castling rights as the first move flags of the kings and rooks
+    @Override
+    public int getCastlingRights() {
+        return (hasUnmovedPiece(60, PieceType.KING, Alliance.WHITE) && hasUnmovedPiece(63, PieceType.ROOK, Alliance.WHITE) ? WHITE_KING_SIDE : 0)
+               | (hasUnmovedPiece(60, PieceType.KING, Alliance.WHITE) && hasUnmovedPiece(56, PieceType.ROOK, Alliance.WHITE) ? WHITE_QUEEN_SIDE : 0)
+               | (hasUnmovedPiece(4, PieceType.KING, Alliance.BLACK) && hasUnmovedPiece(7, PieceType.ROOK, Alliance.BLACK) ? BLACK_KING_SIDE : 0)
+               | (hasUnmovedPiece(4, PieceType.KING, Alliance.BLACK) && hasUnmovedPiece(0, PieceType.ROOK, Alliance.BLACK) ? BLACK_QUEEN_SIDE : 0);
+    }
+
+    private boolean hasUnmovedPiece(final int tileCoordinate, final PieceType pieceType, final Alliance alliance) {
+        final Piece piece = this.gameBoard[tileCoordinate];
+        return piece != null && piece.getPieceType() == pieceType && piece.getPieceAlliance() == alliance
+               && piece.isFirstMove();
+    }
+
+    // The tile behind the pawn that just jumped, if the player to move can capture it
+    @Override
+    public int getEnPassantSquare() {
+        if(this.enPassantPawn == null || this.enPassantPawn.getPieceAlliance() == getSideToMove()){
+            return NO_SQUARE;
+        }
+        return this.enPassantPawn.getPiecePosition()
+               + (BoardUtils.NUM_TILES_PER_RANK * this.enPassantPawn.getPieceAlliance().getOppositeDirection());
     }
     
-    private static List<Tile> createGameBoard(final Builder builder){
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
+    private static long calculateAllianceBitBoard(final long[] pieceBitBoards, final Alliance alliance){
+        long allianceBitBoard = BitBoards.EMPTY;
 
-        for(int i = 0; i < BoardUtils.NUM_TILES; i++){
-            tiles[i] = Tile.createTile(i, builder.getBoardConfig().get(i));
+        for(final PieceType pieceType : PieceType.values()){
+            allianceBitBoard |= pieceBitBoards[BitBoards.pieceIndex(pieceType, alliance)];
         }
-        return ImmutableList.copyOf(tiles);
+        return allianceBitBoard;
     }
 
     public static Board createInitialBoard(){
         final Builder builder = new Builder();
 
         // Standard chess configuration for the black pieces 
-        builder.setPiece(new Rook(0, Alliance.BLACK));
-        builder.setPiece(new Knight(1, Alliance.BLACK));
-        builder.setPiece(new Bishop(2, Alliance.BLACK));
-        builder.setPiece(new Queen(3, Alliance.BLACK));
-        builder.setPiece(new King(4, Alliance.BLACK, true, true));
-        builder.setPiece(new Bishop(5, Alliance.BLACK));
-        builder.setPiece(new Knight(6, Alliance.BLACK));
-        builder.setPiece(new Rook(7, Alliance.BLACK));
-        builder.setPiece(new Pawn(8, Alliance.BLACK));
-        builder.setPiece(new Pawn(9, Alliance.BLACK));
-        builder.setPiece(new Pawn(10, Alliance.BLACK));
-        builder.setPiece(new Pawn(11, Alliance.BLACK));
-        builder.setPiece(new Pawn(12, Alliance.BLACK));
-        builder.setPiece(new Pawn(13, Alliance.BLACK));
-        builder.setPiece(new Pawn(14, Alliance.BLACK));
-        builder.setPiece(new Pawn(15, Alliance.BLACK));
+        builder.setPiece(PieceCache.getRook(0, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getKnight(1, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getBishop(2, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getQueen(3, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getKing(4, Alliance.BLACK, true, false, true, true));
+        builder.setPiece(PieceCache.getBishop(5, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getKnight(6, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getRook(7, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getPawn(8, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getPawn(9, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getPawn(10, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getPawn(11, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getPawn(12, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getPawn(13, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getPawn(14, Alliance.BLACK, true));
+        builder.setPiece(PieceCache.getPawn(15, Alliance.BLACK, true));
         
         // Standard chess configuration for the white pieces
-        builder.setPiece(new Pawn(48, Alliance.WHITE));
-        builder.setPiece(new Pawn(49, Alliance.WHITE));
-        builder.setPiece(new Pawn(50, Alliance.WHITE));
-        builder.setPiece(new Pawn(51, Alliance.WHITE));
-        builder.setPiece(new Pawn(52, Alliance.WHITE));
-        builder.setPiece(new Pawn(53, Alliance.WHITE));
-        builder.setPiece(new Pawn(54, Alliance.WHITE));
-        builder.setPiece(new Pawn(55, Alliance.WHITE));
-        builder.setPiece(new Rook(56, Alliance.WHITE));
-        builder.setPiece(new Knight(57, Alliance.WHITE));
-        builder.setPiece(new Bishop(58, Alliance.WHITE));
-        builder.setPiece(new Queen(59, Alliance.WHITE));
-        builder.setPiece(new King(60, Alliance.WHITE, true, true));
-        builder.setPiece(new Bishop(61, Alliance.WHITE));
-        builder.setPiece(new Knight(62, Alliance.WHITE));
-        builder.setPiece(new Rook(63, Alliance.WHITE));
+        builder.setPiece(PieceCache.getPawn(48, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getPawn(49, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getPawn(50, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getPawn(51, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getPawn(52, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getPawn(53, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getPawn(54, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getPawn(55, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getRook(56, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getKnight(57, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getBishop(58, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getQueen(59, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getKing(60, Alliance.WHITE, true, false, true, true));
+        builder.setPiece(PieceCache.getBishop(61, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getKnight(62, Alliance.WHITE, true));
+        builder.setPiece(PieceCache.getRook(63, Alliance.WHITE, true));
   
         // White moves first
         builder.nextPlayer(Alliance.WHITE);
@@ -145,11 +269,17 @@ public class Board {
     }
 
     public Collection<Piece> getBlackPieces() {
-        return blackPieces;
+        if(this.blackPieces == null){
+            this.blackPieces = calculateActivePieces(this.gameBoard, this.blackBitBoard);
+        }
+        return this.blackPieces;
     }
 
     public Collection<Piece> getWhitePieces() {
-        return whitePieces;
+        if(this.whitePieces == null){
+            this.whitePieces = calculateActivePieces(this.gameBoard, this.whiteBitBoard);
+        }
+        return this.whitePieces;
     }
 
     public Player blackPlayer() {
@@ -168,11 +298,19 @@ public class Board {
         return Iterables.unmodifiableIterable(Iterables.concat(this.whitePlayer.getLegalMoves(), this.blackPlayer.getLegalMoves()));
     }
 
+    // Used by 'MoveFactory' to find a move without scanning all the legal moves
+    public MoveIndex getMoveIndex() {
+        if(this.moveIndex == null){
+            this.moveIndex = new MoveIndex(getAllLegalMoves());
+        }
+        return this.moveIndex;
+    }
+
     public Pawn getEnPassantPawn() {
         return this.enPassantPawn;
     }
 
     public Iterable<Piece> getAllPieces() {
-        return Iterables.unmodifiableIterable(Iterables.concat(whitePieces, blackPieces));
+        return Iterables.unmodifiableIterable(Iterables.concat(getWhitePieces(), getBlackPieces()));
     }
 }
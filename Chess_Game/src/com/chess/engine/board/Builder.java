@@ -1,27 +1,57 @@
 package com.chess.engine.board;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.chess.engine.Alliance;
 import com.chess.engine.board.move.Move;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
 
-// Builder class 
+// Builder class
 public class Builder {
-    private Map<Integer, Piece> boardConfig;
+    // Piece placement by tile coordinate, with the piece bitboards kept in sync
+    Piece[] boardConfig;
+    long[] pieceBitBoards;
+    // The placement is shared with a board, and copied before it is changed (copy on write)
+    private boolean isPlacementShared;
+    // Zobrist key of the placement, updated with every piece set or removed
+    long placementKey;
     Alliance nextPlayer;
-    Pawn enPassantPawn = null; 
-    Move transitionMove; 
-    
+    Pawn enPassantPawn = null;
+    Move transitionMove;
+
     // Builder constructor
     public Builder(){
-        this.boardConfig = new HashMap<>(); 
+        this.boardConfig = new Piece[BoardUtils.NUM_TILES];
+        this.pieceBitBoards = new long[BitBoards.NUM_PIECE_BITBOARDS];
+    }
+
+    // Start from the placement of 'parent', so a move only has to set the tiles it changes
+    public Builder(final Board parent){
+        this.boardConfig = parent.gameBoard;
+        this.pieceBitBoards = parent.pieceBitBoards;
+        this.isPlacementShared = true;
+        this.placementKey = parent.placementKey;
     }
 
     public Builder setPiece(final Piece piece){
-        this.boardConfig.put(piece.getPiecePosition(), piece);
+        final int tileCoordinate = piece.getPiecePosition();
+        removePiece(tileCoordinate);
+        copySharedPlacement();
+        this.boardConfig[tileCoordinate] = piece;
+        final int pieceIndex = BitBoards.pieceIndex(piece.getPieceType(), piece.getPieceAlliance());
+        this.pieceBitBoards[pieceIndex] |= BitBoards.squareBit(tileCoordinate);
+        this.placementKey ^= ZobristHashing.pieceKey(pieceIndex, tileCoordinate);
+        return this;
+    }
+
+    public Builder removePiece(final int tileCoordinate){
+        final Piece piece = this.boardConfig[tileCoordinate];
+        if(piece != null){
+            copySharedPlacement();
+            this.boardConfig[tileCoordinate] = null;
+            final int pieceIndex = BitBoards.pieceIndex(piece.getPieceType(), piece.getPieceAlliance());
+            this.pieceBitBoards[pieceIndex] &= ~BitBoards.squareBit(tileCoordinate);
+            this.placementKey ^= ZobristHashing.pieceKey(pieceIndex, tileCoordinate);
+        }
         return this;
     }
 
@@ -30,8 +60,8 @@ public class Builder {
         return this;
     }
 
-    public Map<Integer, Piece> getBoardConfig(){
-        return boardConfig;
+    public Piece getPiece(final int tileCoordinate){
+        return this.boardConfig[tileCoordinate];
     }
 
     public Builder setEnPassantPawn(Pawn enPassantPawn) {
@@ -43,8 +73,18 @@ public class Builder {
         this.transitionMove = transitionMove;
         return this;
     }
-    
+
+    // The board takes over the placement, a builder changed and built again copies it first
     public Board build(){
+        this.isPlacementShared = true;
         return new Board(this);
     }
+
+    private void copySharedPlacement(){
+        if(this.isPlacementShared){
+            this.boardConfig = this.boardConfig.clone();
+            this.pieceBitBoards = this.pieceBitBoards.clone();
+            this.isPlacementShared = false;
+        }
+    }
 }
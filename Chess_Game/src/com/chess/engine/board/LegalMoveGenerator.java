@@ -0,0 +1,328 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.MoveList;
+
+/**This class generates strictly legal moves. The pieces pinned to their
+King and the pieces giving check are found before any move is generated,
+so every move comes out legal and nothing has to be played on a trial
+board to be rejected. In check only the evasions are generated: King
+moves, captures of the checking piece and blocks on the checking line.
+
+The noisy moves (captures, en passant and promotions) and the quiet moves
+can also be generated on their own, so a search can try the captures and
+skip the quiet moves altogether after a cutoff.*/
+public final class LegalMoveGenerator {
+
+    // Pieces whose moves are their attack sets
+    private static final PieceType[] OFFICER_TYPES = {PieceType.KNIGHT, PieceType.BISHOP,
+                                                      PieceType.ROOK, PieceType.QUEEN};
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.ROOK,
+                                                        PieceType.BISHOP, PieceType.KNIGHT};
+
+    // Kinds of moves to generate
+    private static final int NOISY = 1;
+    private static final int QUIET = 2;
+    private static final int ALL_MOVES = NOISY | QUIET;
+
+    private LegalMoveGenerator(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    // Legal moves of the side to move
+    public static int generateLegalMoves(final BitboardPosition position, final MoveList moves){
+        return generateLegalMoves(position, position.getSideToMove(), moves);
+    }
+
+    // Legal moves of 'alliance', en passant is only possible for the side to move
+    public static int generateLegalMoves(final BitboardPosition position, final Alliance alliance, final MoveList moves){
+        moves.clear();
+        generate(position, alliance, BitBoards.FULL, ALL_MOVES, moves);
+        return moves.size();
+    }
+
+    // Captures, en passant captures and promotions of the side to move
+    public static int generateNoisyMoves(final BitboardPosition position, final MoveList moves){
+        moves.clear();
+        generate(position, position.getSideToMove(), BitBoards.FULL, NOISY, moves);
+        return moves.size();
+    }
+
+    // All the other moves of the side to move, castling included
+    public static int generateQuietMoves(final BitboardPosition position, final MoveList moves){
+        moves.clear();
+        generate(position, position.getSideToMove(), BitBoards.FULL, QUIET, moves);
+        return moves.size();
+    }
+
+    // Is an encoded move, for example one remembered from another position, legal here?
+    // Only the moves of the piece on the source tile are generated into 'scratch'.
+    public static boolean isLegalMove(final BitboardPosition position, final int move, final MoveList scratch){
+        if(move == EncodedMove.NULL_MOVE){
+            return false;
+        }
+        scratch.clear();
+        generate(position, position.getSideToMove(), BitBoards.squareBit(EncodedMove.source(move)), ALL_MOVES, scratch);
+        return scratch.contains(move);
+    }
+
+    // Adds the moves of the pieces on 'sources' to 'moves'
+    private static void generate(final BitboardPosition position, final Alliance alliance, final long sources,
+                                 final int kinds, final MoveList moves){
+        final Alliance opponent = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long kingBitBoard = position.getPieceBitBoard(PieceType.KING, alliance);
+        if(kingBitBoard == 0){
+            return;
+        }
+        final int kingSquare = BitBoards.firstSquare(kingBitBoard);
+        final long own = position.getAllianceBitBoard(alliance);
+        final long enemy = position.getAllianceBitBoard(opponent);
+        final long occupied = own | enemy;
+        // Tiles a move of the requested kinds may end on, pawns handle their own kinds
+        final long kindMask = ((kinds & NOISY) != 0 ? enemy : BitBoards.EMPTY)
+                              | ((kinds & QUIET) != 0 ? ~occupied : BitBoards.EMPTY);
+
+        // King moves, the King itself must not block the attacks on the tiles behind it
+        final boolean isKingSource = (sources & kingBitBoard) != 0;
+        if(isKingSource){
+            final long withoutKing = occupied & ~kingBitBoard;
+            for(long targets = AttackTables.KING_ATTACKS[kingSquare] & kindMask; targets != 0; targets = BitBoards.clearFirstSquare(targets)){
+                final int destination = BitBoards.firstSquare(targets);
+                if(SquareAttacks.attackersOf(position, destination, opponent, withoutKing) == 0){
+                    addMove(position, kingSquare, destination, PieceType.KING, 0, moves);
+                }
+            }
+        }
+
+        final long checkers = SquareAttacks.attackersOf(position, kingSquare, opponent, occupied);
+        // Double check, only the King can move
+        if(BitBoards.count(checkers) > 1){
+            return;
+        }
+
+        // Tiles a non King move must end on: anywhere when not in check,
+        // else on the checking piece or between it and the King
+        long evasionMask = ~own;
+        if(checkers != 0){
+            final int checkerSquare = BitBoards.firstSquare(checkers);
+            evasionMask = checkers | AttackTables.BETWEEN[kingSquare][checkerSquare];
+        }
+        else if(isKingSource && (kinds & QUIET) != 0){
+            generateCastleMoves(position, alliance, opponent, kingSquare, moves);
+        }
+
+        final long pinned = pinnedPieces(position, alliance, opponent, kingSquare, own, occupied);
+        generatePieceMoves(position, alliance, sources, kingSquare, pinned, evasionMask & kindMask, occupied, moves);
+        generatePawnMoves(position, alliance, opponent, sources, kinds, kingSquare, pinned, evasionMask, enemy, occupied, moves);
+    }
+
+    // Same answer as checking 'generateLegalMoves' for an empty list, but returns at the first
+    // legal move found and never fills a move list. Castling is skipped: when castling is legal,
+    // so is the King step towards the rook.
+    public static boolean hasLegalMove(final BitboardPosition position, final Alliance alliance){
+        final Alliance opponent = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long kingBitBoard = position.getPieceBitBoard(PieceType.KING, alliance);
+        if(kingBitBoard == 0){
+            return false;
+        }
+        final int kingSquare = BitBoards.firstSquare(kingBitBoard);
+        final long own = position.getAllianceBitBoard(alliance);
+        final long enemy = position.getAllianceBitBoard(opponent);
+        final long occupied = own | enemy;
+
+        final long withoutKing = occupied & ~kingBitBoard;
+        for(long targets = AttackTables.KING_ATTACKS[kingSquare] & ~own; targets != 0; targets = BitBoards.clearFirstSquare(targets)){
+            if(SquareAttacks.attackersOf(position, BitBoards.firstSquare(targets), opponent, withoutKing) == 0){
+                return true;
+            }
+        }
+
+        final long checkers = SquareAttacks.attackersOf(position, kingSquare, opponent, occupied);
+        if(BitBoards.count(checkers) > 1){
+            return false;
+        }
+        final long evasionMask = checkers == 0 ? ~own
+                                               : checkers | AttackTables.BETWEEN[kingSquare][BitBoards.firstSquare(checkers)];
+        final long pinned = pinnedPieces(position, alliance, opponent, kingSquare, own, occupied);
+
+        for(final PieceType pieceType : OFFICER_TYPES){
+            for(long pieces = position.getPieceBitBoard(pieceType, alliance); pieces != 0; pieces = BitBoards.clearFirstSquare(pieces)){
+                final int source = BitBoards.firstSquare(pieces);
+                final long pinLine = BitBoards.isSet(pinned, source) ? AttackTables.LINE[kingSquare][source] : BitBoards.FULL;
+                if((attacks(pieceType, source, occupied) & ~own & evasionMask & pinLine) != 0){
+                    return true;
+                }
+            }
+        }
+
+        final int forward = alliance.getDirection() * BoardUtils.NUM_TILES_PER_RANK;
+        final int startRank = alliance.isWhite() ? 6 : 1;
+        final int enPassantSquare = alliance == position.getSideToMove() ? position.getEnPassantSquare()
+                                                                          : BitboardPosition.NO_SQUARE;
+        for(long pawns = position.getPieceBitBoard(PieceType.PAWN, alliance); pawns != 0; pawns = BitBoards.clearFirstSquare(pawns)){
+            final int source = BitBoards.firstSquare(pawns);
+            final long pinLine = BitBoards.isSet(pinned, source) ? AttackTables.LINE[kingSquare][source] : BitBoards.FULL;
+            final int destination = source + forward;
+            if(!BitBoards.isSet(occupied, destination)
+               && (BitBoards.isSet(evasionMask & pinLine, destination)
+                   || ((source >>> 3) == startRank && !BitBoards.isSet(occupied, destination + forward)
+                       && BitBoards.isSet(evasionMask & pinLine, destination + forward)))){
+                return true;
+            }
+            final long attacks = AttackTables.pawnAttacks(alliance, source);
+            if((attacks & enemy & evasionMask & pinLine) != 0){
+                return true;
+            }
+            if(enPassantSquare != BitboardPosition.NO_SQUARE && BitBoards.isSet(attacks, enPassantSquare)
+               && isLegalEnPassant(position, opponent, kingSquare, source, enPassantSquare, forward, occupied)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Own pieces that are the only piece between an enemy slider and the King
+    private static long pinnedPieces(final BitboardPosition position, final Alliance alliance, final Alliance opponent,
+                                     final int kingSquare, final long own, final long occupied){
+        final long enemy = position.getAllianceBitBoard(opponent);
+        final long queens = position.getPieceBitBoard(PieceType.QUEEN, opponent);
+        // Sliders that would see the King if only enemy pieces blocked their way
+        final long snipers = (MagicBitboards.rookAttacks(kingSquare, enemy) & (position.getPieceBitBoard(PieceType.ROOK, opponent) | queens))
+                             | (MagicBitboards.bishopAttacks(kingSquare, enemy) & (position.getPieceBitBoard(PieceType.BISHOP, opponent) | queens));
+        long pinned = BitBoards.EMPTY;
+
+        for(long remaining = snipers; remaining != 0; remaining = BitBoards.clearFirstSquare(remaining)){
+            final long blockers = AttackTables.BETWEEN[kingSquare][BitBoards.firstSquare(remaining)] & occupied;
+            if(BitBoards.count(blockers) == 1){
+                pinned |= blockers & own;
+            }
+        }
+        return pinned;
+    }
+
+    // 'targetMask' holds the tiles the moves may end on
+    private static void generatePieceMoves(final BitboardPosition position, final Alliance alliance, final long sources,
+                                           final int kingSquare, final long pinned, final long targetMask,
+                                           final long occupied, final MoveList moves){
+        for(final PieceType pieceType : OFFICER_TYPES){
+            for(long pieces = position.getPieceBitBoard(pieceType, alliance) & sources; pieces != 0; pieces = BitBoards.clearFirstSquare(pieces)){
+                final int source = BitBoards.firstSquare(pieces);
+                long targets = attacks(pieceType, source, occupied) & targetMask;
+                // A pinned piece may only move along the line of the pin
+                if(BitBoards.isSet(pinned, source)){
+                    targets &= AttackTables.LINE[kingSquare][source];
+                }
+                for(; targets != 0; targets = BitBoards.clearFirstSquare(targets)){
+                    addMove(position, source, BitBoards.firstSquare(targets), pieceType, 0, moves);
+                }
+            }
+        }
+    }
+
+    private static void generatePawnMoves(final BitboardPosition position, final Alliance alliance, final Alliance opponent,
+                                          final long sources, final int kinds, final int kingSquare, final long pinned,
+                                          final long evasionMask, final long enemy, final long occupied, final MoveList moves){
+        final boolean isNoisy = (kinds & NOISY) != 0;
+        final boolean isQuiet = (kinds & QUIET) != 0;
+        final int forward = alliance.getDirection() * BoardUtils.NUM_TILES_PER_RANK;
+        final int startRank = alliance.isWhite() ? 6 : 1;
+        final int enPassantSquare = alliance == position.getSideToMove() ? position.getEnPassantSquare()
+                                                                          : BitboardPosition.NO_SQUARE;
+
+        for(long pawns = position.getPieceBitBoard(PieceType.PAWN, alliance) & sources; pawns != 0; pawns = BitBoards.clearFirstSquare(pawns)){
+            final int source = BitBoards.firstSquare(pawns);
+            final long pinLine = BitBoards.isSet(pinned, source) ? AttackTables.LINE[kingSquare][source] : BitBoards.FULL;
+
+            // Forward pushes, a push that promotes counts as noisy
+            final int destination = source + forward;
+            if(!BitBoards.isSet(occupied, destination)){
+                if(BitBoards.isSet(evasionMask & pinLine, destination)
+                   && (alliance.isPawnPromotionSquare(destination) ? isNoisy : isQuiet)){
+                    addPawnMove(position, source, destination, alliance, moves);
+                }
+                final int jumpDestination = destination + forward;
+                if(isQuiet && (source >>> 3) == startRank && !BitBoards.isSet(occupied, jumpDestination)
+                   && BitBoards.isSet(evasionMask & pinLine, jumpDestination)){
+                    addMove(position, source, jumpDestination, PieceType.PAWN, EncodedMove.FLAG_DOUBLE_PUSH, moves);
+                }
+            }
+
+            if(!isNoisy){
+                continue;
+            }
+            // Diagonal captures
+            final long attacks = AttackTables.pawnAttacks(alliance, source);
+            for(long captures = attacks & enemy & evasionMask & pinLine; captures != 0; captures = BitBoards.clearFirstSquare(captures)){
+                addPawnMove(position, source, BitBoards.firstSquare(captures), alliance, moves);
+            }
+
+            if(enPassantSquare != BitboardPosition.NO_SQUARE && BitBoards.isSet(attacks, enPassantSquare)
+               && isLegalEnPassant(position, opponent, kingSquare, source, enPassantSquare, forward, occupied)){
+                moves.add(EncodedMove.create(source, enPassantSquare, PieceType.PAWN, PieceType.PAWN, null,
+                                             EncodedMove.FLAG_EN_PASSANT));
+            }
+        }
+    }
+
+    // En passant clears two tiles on the same rank, so check the position it leaves behind directly
+    private static boolean isLegalEnPassant(final BitboardPosition position, final Alliance opponent, final int kingSquare,
+                                            final int source, final int destination, final int forward, final long occupied){
+        final long capturedBit = BitBoards.squareBit(destination - forward);
+        final long occupiedAfter = (occupied & ~BitBoards.squareBit(source) & ~capturedBit) | BitBoards.squareBit(destination);
+        return (SquareAttacks.attackersOf(position, kingSquare, opponent, occupiedAfter) & ~capturedBit) == 0;
+    }
+
+    private static void generateCastleMoves(final BitboardPosition position, final Alliance alliance, final Alliance opponent,
+                                            final int kingSquare, final MoveList moves){
+        final int castlingRights = position.getCastlingRights();
+        final int kingSide = alliance.isWhite() ? BitboardPosition.WHITE_KING_SIDE : BitboardPosition.BLACK_KING_SIDE;
+        final int queenSide = alliance.isWhite() ? BitboardPosition.WHITE_QUEEN_SIDE : BitboardPosition.BLACK_QUEEN_SIDE;
+        final long occupied = position.getOccupiedBitBoard();
+
+        // The King may not pass through or land on an attacked tile
+        if((castlingRights & kingSide) != 0
+           && !BitBoards.isSet(occupied, kingSquare + 1) && !BitBoards.isSet(occupied, kingSquare + 2)
+           && !SquareAttacks.isSquareAttacked(position, kingSquare + 1, opponent) && !SquareAttacks.isSquareAttacked(position, kingSquare + 2, opponent)){
+            addMove(position, kingSquare, kingSquare + 2, PieceType.KING, EncodedMove.FLAG_CASTLE, moves);
+        }
+        if((castlingRights & queenSide) != 0
+           && !BitBoards.isSet(occupied, kingSquare - 1) && !BitBoards.isSet(occupied, kingSquare - 2)
+           && !BitBoards.isSet(occupied, kingSquare - 3)
+           && !SquareAttacks.isSquareAttacked(position, kingSquare - 1, opponent) && !SquareAttacks.isSquareAttacked(position, kingSquare - 2, opponent)){
+            addMove(position, kingSquare, kingSquare - 2, PieceType.KING, EncodedMove.FLAG_CASTLE, moves);
+        }
+    }
+
+    private static long attacks(final PieceType pieceType, final int source, final long occupied){
+        switch(pieceType){
+            case KNIGHT:
+                return AttackTables.KNIGHT_ATTACKS[source];
+            case BISHOP:
+                return MagicBitboards.bishopAttacks(source, occupied);
+            case ROOK:
+                return MagicBitboards.rookAttacks(source, occupied);
+            default:
+                return MagicBitboards.queenAttacks(source, occupied);
+        }
+    }
+
+    private static void addMove(final BitboardPosition position, final int source, final int destination,
+                                final PieceType pieceType, final int flags, final MoveList moves){
+        moves.add(EncodedMove.create(source, destination, pieceType, position.getPieceTypeAt(destination), null, flags));
+    }
+
+    private static void addPawnMove(final BitboardPosition position, final int source, final int destination,
+                                    final Alliance alliance, final MoveList moves){
+        if(alliance.isPawnPromotionSquare(destination)){
+            for(final PieceType promotionType : PROMOTION_TYPES){
+                moves.add(EncodedMove.create(source, destination, PieceType.PAWN, position.getPieceTypeAt(destination),
+                                             promotionType, 0));
+            }
+        }
+        else{
+            addMove(position, source, destination, PieceType.PAWN, 0, moves);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.chess.engine.board;
+
+/**This class looks up rook, bishop and queen attacks with magic bitboards.
+The blockers on the relevant tiles of a slider are multiplied by the magic
+number of its tile, and the top bits of the product index a table holding
+the attack set for those blockers. The numbers come from
+'MagicNumberGenerator'.*/
+public final class MagicBitboards {
+
+    private static final long[] ROOK_MAGICS = {
+        0x2080102080004001L, 0x0240100040002000L, 0x8180200008819002L, 0x1080100008008004L,
+        0x0200100902000420L, 0x02800400801A0005L, 0x0080020001000080L, 0x0200010820820044L,
+        0xA280800020904000L, 0x9040400020005000L, 0x0001004020001100L, 0x9602004200082010L,
+        0x0020800800040080L, 0x0841000400880300L, 0x0004808002000100L, 0x0001003049000182L,
+        0x0880044002A00540L, 0x4100848040022000L, 0x1084110020004100L, 0x2100210010000902L,
+        0x0005010010040800L, 0x0000080104402010L, 0x84A2808082000100L, 0xC0000200004100A4L,
+        0x6108410200208200L, 0x4002220600430081L, 0x0210001080200081L, 0x0586400A00201200L,
+        0x020200EE00200810L, 0x0604040080800200L, 0x0000010400224810L, 0x4411004200010084L,
+        0x4088284000800080L, 0x0890002000400041L, 0xC120040010100200L, 0x0C1001001100200CL,
+        0xA82D040080800802L, 0x0002000902000410L, 0x21003902240008B0L, 0x0000800040800100L,
+        0x8008843040008000L, 0x0042008041020030L, 0x0808490020010011L, 0x0800100008008080L,
+        0x0000080005010010L, 0x0800040002008080L, 0x0000020890040001L, 0x1041042080420001L,
+        0x0046990042220200L, 0x0110004000200040L, 0x0001D00080200480L, 0x9082000820431200L,
+        0x0204000802048080L, 0x0802009104480200L, 0x0100080201500400L, 0x04184C0081004600L,
+        0x4200401028800101L, 0x21A6104001008021L, 0x9000200143000813L, 0x0000900101442009L,
+        0x0001001002040801L, 0x0886000830014422L, 0x1200109048010204L, 0x000001040B802242L
+    };
+    private static final long[] BISHOP_MAGICS = {
+        0x8024601082020040L, 0x443001080C809058L, 0x2008008112000082L, 0x46080B4100410000L,
+        0xA124042000040070L, 0x002082202207000CL, 0x0004010108204000L, 0x0128140202026030L,
+        0x0910281004089420L, 0x0088252808214180L, 0x0810102112102220L, 0x0000A20A02000C08L,
+        0x0100040420002580L, 0x208805100210E080L, 0x0141008210322200L, 0x00D4109601100A08L,
+        0x1042000408020404L, 0x01D0800481280110L, 0x9018021400440208L, 0x00240009C4008004L,
+        0x0001010820080410L, 0x2408200200902808L, 0x4014080104110422L, 0x0002000543008840L,
+        0x002050C809020806L, 0x0201445008080800L, 0x0402010162080200L, 0x020208002C004048L,
+        0x4001001001004000L, 0x0310008211009C80L, 0x0108020129010164L, 0x095214800A048888L,
+        0x0008841000042000L, 0x00284A028C180800L, 0x0000403000080042L, 0x84000808004A0A00L,
+        0x2044200220060080L, 0x0702004100020080L, 0x500408A420020101L, 0x0104828200228208L,
+        0x0000901010048800L, 0x00008401214C4800L, 0x0800442401001000L, 0x1008022018040100L,
+        0x0100088100400400L, 0x048C02B001002610L, 0x0108680800408090L, 0x1002040108268200L,
+        0x0018921110418080L, 0x0004208804100012L, 0x0000905208040006L, 0x8000080020880002L,
+        0x0180204803040000L, 0x40203585081A0004L, 0x1051301050A68000L, 0x0011560084008600L,
+        0x0100220900A01004L, 0x09000A0611075800L, 0x1502808042089040L, 0x10080D2020420208L,
+        0x0450020040028203L, 0x1804080990414200L, 0x0000080801280220L, 0x2810444800802600L
+    };
+
+    // Tiles whose occupancy matters for a slider on each tile
+    private static final long[] ROOK_MASKS = initMasks(AttackTables.ROOK_DIRECTIONS);
+    private static final long[] BISHOP_MASKS = initMasks(AttackTables.BISHOP_DIRECTIONS);
+    private static final int[] ROOK_SHIFTS = initShifts(ROOK_MASKS);
+    private static final int[] BISHOP_SHIFTS = initShifts(BISHOP_MASKS);
+
+    // Start of the attack sets of each tile in the attack table, the last entry is the table size
+    private static final int[] ROOK_OFFSETS = initOffsets(ROOK_MASKS);
+    private static final int[] BISHOP_OFFSETS = initOffsets(BISHOP_MASKS);
+    // Attack sets of all the tiles in one flat table, indexed by the tile offset + the magic index
+    private static final long[] ROOK_ATTACKS = initAttacks(ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS,
+                                                           AttackTables.ROOK_DIRECTIONS);
+    private static final long[] BISHOP_ATTACKS = initAttacks(BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS,
+                                                             AttackTables.BISHOP_DIRECTIONS);
+
+    private MagicBitboards(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    public static long rookAttacks(final int tileCoordinate, final long occupied){
+        return ROOK_ATTACKS[ROOK_OFFSETS[tileCoordinate] + (int) (((occupied & ROOK_MASKS[tileCoordinate])
+                                                                   * ROOK_MAGICS[tileCoordinate]) >>> ROOK_SHIFTS[tileCoordinate])];
+    }
+
+    public static long bishopAttacks(final int tileCoordinate, final long occupied){
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[tileCoordinate] + (int) (((occupied & BISHOP_MASKS[tileCoordinate])
+                                                                       * BISHOP_MAGICS[tileCoordinate]) >>> BISHOP_SHIFTS[tileCoordinate])];
+    }
+
+    public static long queenAttacks(final int tileCoordinate, final long occupied){
+        return rookAttacks(tileCoordinate, occupied) | bishopAttacks(tileCoordinate, occupied);
+    }
+
+    private static long[] initMasks(final int[] directions){
+        final long[] masks = new long[BoardUtils.NUM_TILES];
+        for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+            masks[tile] = MagicNumberGenerator.relevantOccupancy(tile, directions);
+        }
+        return masks;
+    }
+
+    private static int[] initShifts(final long[] masks){
+        final int[] shifts = new int[BoardUtils.NUM_TILES];
+        for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+            shifts[tile] = 64 - BitBoards.count(masks[tile]);
+        }
+        return shifts;
+    }
+
+    // Every tile takes one entry per blocker set of its mask
+    private static int[] initOffsets(final long[] masks){
+        final int[] offsets = new int[BoardUtils.NUM_TILES + 1];
+        for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+            offsets[tile + 1] = offsets[tile] + (1 << BitBoards.count(masks[tile]));
+        }
+        return offsets;
+    }
+
+    // Fill the table with the ray walking attacks of every blocker set
+    private static long[] initAttacks(final long[] masks, final long[] magics, final int[] shifts,
+                                      final int[] offsets, final int[] directions){
+        final long[] attacks = new long[offsets[BoardUtils.NUM_TILES]];
+        for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+            for(final long occupancy : MagicNumberGenerator.occupancySubsets(masks[tile])){
+                final int index = (int) ((occupancy * magics[tile]) >>> shifts[tile]);
+                attacks[offsets[tile] + index] = AttackTables.slidingAttacks(tile, occupancy, directions);
+            }
+        }
+        return attacks;
+    }
+}
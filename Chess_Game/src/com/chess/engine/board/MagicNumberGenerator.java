@@ -0,0 +1,103 @@
+package com.chess.engine.board;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**This class searches for the magic numbers used by 'MagicBitboards'. A
+magic number maps every blocker set of a tile onto a table index without a
+collision that would mix up two different attack sets. Run 'main' to print
+a fresh set of numbers to paste into 'MagicBitboards'.*/
+public final class MagicNumberGenerator {
+
+    // Fixed seed, so the printed tables can be reproduced
+    private static final long SEED = 1729L;
+
+    private MagicNumberGenerator(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    public static void main(final String[] args){
+        final Random random = new Random(SEED);
+        printMagics("ROOK_MAGICS", AttackTables.ROOK_DIRECTIONS, random);
+        printMagics("BISHOP_MAGICS", AttackTables.BISHOP_DIRECTIONS, random);
+    }
+
+    public static long findMagic(final int tileCoordinate, final int[] directions, final Random random){
+        final long mask = relevantOccupancy(tileCoordinate, directions);
+        final long[] occupancies = occupancySubsets(mask);
+        final long[] attacks = new long[occupancies.length];
+        for(int i = 0; i < occupancies.length; i++){
+            attacks[i] = AttackTables.slidingAttacks(tileCoordinate, occupancies[i], directions);
+        }
+
+        final int shift = 64 - BitBoards.count(mask);
+        final long[] table = new long[occupancies.length];
+        final boolean[] used = new boolean[occupancies.length];
+        while(true){
+            // Sparse candidates find a working multiplier much faster
+            final long magic = random.nextLong() & random.nextLong() & random.nextLong();
+            // The top bits of the product must depend on enough mask bits
+            if(BitBoards.count((mask * magic) & 0xFF00000000000000L) < 6){
+                continue;
+            }
+            if(isMagic(magic, shift, occupancies, attacks, table, used)){
+                return magic;
+            }
+        }
+    }
+
+    // The tiles whose occupancy changes the attack set, board edges at the end of a ray never block
+    static long relevantOccupancy(final int tileCoordinate, final int[] directions){
+        long mask = BitBoards.EMPTY;
+        for(final int direction : directions){
+            final int[] raySquares = AttackTables.RAY_SQUARES[direction][tileCoordinate];
+            for(int i = 0; i < raySquares.length - 1; i++){
+                mask |= BitBoards.squareBit(raySquares[i]);
+            }
+        }
+        return mask;
+    }
+
+    // Every subset of 'mask', enumerated with the carry-rippler trick
+    static long[] occupancySubsets(final long mask){
+        final long[] subsets = new long[1 << BitBoards.count(mask)];
+        long subset = BitBoards.EMPTY;
+        int index = 0;
+        do{
+            subsets[index++] = subset;
+            subset = (subset - mask) & mask;
+        } while(subset != 0);
+        return subsets;
+    }
+
+    private static boolean isMagic(final long magic, final int shift, final long[] occupancies,
+                                   final long[] attacks, final long[] table, final boolean[] used){
+        Arrays.fill(used, false);
+        for(int i = 0; i < occupancies.length; i++){
+            final int index = (int) ((occupancies[i] * magic) >>> shift);
+            if(!used[index]){
+                used[index] = true;
+                table[index] = attacks[i];
+            }
+            // Two blocker sets may only share an entry when they produce the same attacks
+            else if(table[index] != attacks[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void printMagics(final String name, final int[] directions, final Random random){
+        final StringBuilder builder = new StringBuilder();
+        builder.append("    private static final long[] ").append(name).append(" = {\n");
+        for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+            if(tile % 4 == 0){
+                builder.append("        ");
+            }
+            builder.append(String.format("0x%016XL", findMagic(tile, directions, random)));
+            builder.append(tile == BoardUtils.NUM_TILES - 1 ? "\n" : tile % 4 == 3 ? ",\n" : ", ");
+        }
+        builder.append("    };");
+        System.out.println(builder);
+    }
+}
@@ -0,0 +1,465 @@
+package com.chess.engine.board;
+
+import java.util.Arrays;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.MoveList;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceCache;
+
+/**This class is a mutable chess position used by the AI search. Moves are
+applied in place with 'makeMove' and reverted with 'unmakeMove', so the
+search never has to build a new 'Board' for every node it visits. Moves
+are 'EncodedMove' integers kept in a 'MoveList'.*/
+public final class SearchPosition implements BitboardPosition {
+
+    public static final int NO_PIECE = -1;
+
+    // Initial depth of the undo stack, it grows when a line gets longer
+    private static final int UNDO_STACK_SIZE = 128;
+
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    // Castling rights kept after a piece moves from or to a tile
+    private static final int[] CASTLING_RIGHTS_MASK = initCastlingRightsMask();
+
+    private final long[] pieceBitBoards;
+    private final long[] allianceBitBoards;
+    private final int[] mailbox;
+    private int sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int castledFlags;
+    // Zobrist key, updated by every piece put or removed and every state change
+    private long zobristKey;
+
+    // Undo stack, one entry per move made
+    private int ply;
+    private int[] moveStack;
+    private int[] capturedStack;
+    private int[] castlingStack;
+    private int[] enPassantStack;
+    private int[] castledStack;
+    private long[] keyStack;
+
+
+    private SearchPosition(){
+        this.pieceBitBoards = new long[BitBoards.NUM_PIECE_BITBOARDS];
+        this.allianceBitBoards = new long[2];
+        this.mailbox = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(this.mailbox, NO_PIECE);
+        this.enPassantSquare = NO_SQUARE;
+        this.moveStack = new int[UNDO_STACK_SIZE];
+        this.capturedStack = new int[UNDO_STACK_SIZE];
+        this.castlingStack = new int[UNDO_STACK_SIZE];
+        this.enPassantStack = new int[UNDO_STACK_SIZE];
+        this.castledStack = new int[UNDO_STACK_SIZE];
+        this.keyStack = new long[UNDO_STACK_SIZE];
+    }
+
+    // Independent copy of the current position, without the moves that led to it
+    public SearchPosition copy(){
+        final SearchPosition position = new SearchPosition();
+        System.arraycopy(this.pieceBitBoards, 0, position.pieceBitBoards, 0, this.pieceBitBoards.length);
+        System.arraycopy(this.allianceBitBoards, 0, position.allianceBitBoards, 0, this.allianceBitBoards.length);
+        System.arraycopy(this.mailbox, 0, position.mailbox, 0, this.mailbox.length);
+        position.sideToMove = this.sideToMove;
+        position.castlingRights = this.castlingRights;
+        position.enPassantSquare = this.enPassantSquare;
+        position.castledFlags = this.castledFlags;
+        position.zobristKey = this.zobristKey;
+        return position;
+    }
+
+    public static SearchPosition fromBoard(final Board board){
+        final SearchPosition position = new SearchPosition();
+
+        for(final Piece piece : board.getAllPieces()){
+            position.putPiece(BitBoards.pieceIndex(piece.getPieceType(), piece.getPieceAlliance()),
+                              piece.getPiecePosition());
+            if(piece.getPieceType().isKing() && ((King) piece).isCastled()){
+                position.castledFlags |= 1 << piece.getPieceAlliance().ordinal();
+            }
+        }
+        position.sideToMove = board.currentPlayer().getAlliance().ordinal();
+
+        position.castlingRights = board.getCastlingRights();
+        position.enPassantSquare = board.getEnPassantSquare();
+        position.zobristKey = ZobristHashing.computeKey(position);
+        return position;
+    }
+
+    public Board toBoard(){
+        final Builder builder = new Builder();
+
+        for(int square = 0; square < BoardUtils.NUM_TILES; square++){
+            if(this.mailbox[square] != NO_PIECE){
+                builder.setPiece(createPiece(this.mailbox[square], square));
+            }
+        }
+
+        if(this.enPassantSquare != NO_SQUARE){
+            // The pawn that just jumped belongs to the player who is NOT to move
+            final Alliance pawnAlliance = getSideToMove() == Alliance.WHITE ? Alliance.BLACK : Alliance.WHITE;
+            builder.setEnPassantPawn((Pawn) builder.getPiece(this.enPassantSquare
+                                                             + BoardUtils.NUM_TILES_PER_RANK * pawnAlliance.getDirection()));
+        }
+        builder.nextPlayer(getSideToMove());
+        return builder.build();
+    }
+
+    private Piece createPiece(final int pieceCode, final int square){
+        final Alliance alliance = pieceAlliance(pieceCode) == WHITE ? Alliance.WHITE : Alliance.BLACK;
+        final int kingSide = alliance.isWhite() ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        final int queenSide = alliance.isWhite() ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+
+        switch(pieceType(pieceCode)){
+            case PAWN:
+                return PieceCache.getPawn(square, alliance, alliance.isWhite() ? BoardUtils.SECOND_RANK[square]
+                                                                               : BoardUtils.SEVENTH_RANK[square]);
+            case KNIGHT:
+                return PieceCache.getKnight(square, alliance, true);
+            case BISHOP:
+                return PieceCache.getBishop(square, alliance, true);
+            case ROOK:
+                final boolean hasCastlingRight = (square == (alliance.isWhite() ? 63 : 7) && (this.castlingRights & kingSide) != 0)
+                                                 || (square == (alliance.isWhite() ? 56 : 0) && (this.castlingRights & queenSide) != 0);
+                return PieceCache.getRook(square, alliance, hasCastlingRight);
+            case QUEEN:
+                return PieceCache.getQueen(square, alliance, true);
+            default:
+                return PieceCache.getKing(square, alliance,
+                                          (this.castlingRights & (kingSide | queenSide)) != 0,
+                                          isCastled(alliance),
+                                          (this.castlingRights & kingSide) != 0,
+                                          (this.castlingRights & queenSide) != 0);
+        }
+    }
+
+    // Piece code helpers
+    public static int pieceAlliance(final int pieceCode){
+        return pieceCode / BitBoards.NUM_PIECE_TYPES;
+    }
+
+    public static PieceType pieceType(final int pieceCode){
+        return PIECE_TYPES[pieceCode % BitBoards.NUM_PIECE_TYPES];
+    }
+
+    // Position queries
+    @Override
+    public Alliance getSideToMove(){
+        return this.sideToMove == WHITE ? Alliance.WHITE : Alliance.BLACK;
+    }
+
+    public int getPieceCode(final int square){
+        return this.mailbox[square];
+    }
+
+    @Override
+    public PieceType getPieceTypeAt(final int square){
+        return this.mailbox[square] == NO_PIECE ? null : pieceType(this.mailbox[square]);
+    }
+
+    @Override
+    public long getPieceBitBoard(final PieceType pieceType, final Alliance alliance){
+        return this.pieceBitBoards[BitBoards.pieceIndex(pieceType, alliance)];
+    }
+
+    @Override
+    public long getAllianceBitBoard(final Alliance alliance){
+        return this.allianceBitBoards[alliance.ordinal()];
+    }
+
+    @Override
+    public long getOccupiedBitBoard(){
+        return this.allianceBitBoards[WHITE] | this.allianceBitBoards[BLACK];
+    }
+
+    @Override
+    public int getCastlingRights(){
+        return this.castlingRights;
+    }
+
+    @Override
+    public int getEnPassantSquare(){
+        return this.enPassantSquare;
+    }
+
+    @Override
+    public long getZobristKey(){
+        return this.zobristKey;
+    }
+
+    public boolean isCastled(final Alliance alliance){
+        return (this.castledFlags & (1 << alliance.ordinal())) != 0;
+    }
+
+    public boolean isInCheck(final Alliance alliance){
+        return isInCheck(alliance.ordinal());
+    }
+
+    private boolean isInCheck(final int side){
+        final long king = this.pieceBitBoards[side * BitBoards.NUM_PIECE_TYPES + PieceType.KING.ordinal()];
+        final Alliance opponent = side == WHITE ? Alliance.BLACK : Alliance.WHITE;
+        return king != 0 && SquareAttacks.isSquareAttacked(this, BitBoards.firstSquare(king), opponent);
+    }
+
+    // Move generation
+    public int generateLegalMoves(final MoveList moves){
+        return LegalMoveGenerator.generateLegalMoves(this, moves);
+    }
+
+    // False when the side to move is mated or stalemated
+    public boolean hasLegalMove(){
+        return LegalMoveGenerator.hasLegalMove(this, getSideToMove());
+    }
+
+    // Same move set as 'Player.getLegalMoves', which does not filter out moves that expose the King.
+    // The moves are only counted, and like on the board a promotion counts once, not once per piece.
+    public int countPseudoLegalMoves(final Alliance alliance){
+        final int side = alliance.ordinal();
+        final int offset = side * BitBoards.NUM_PIECE_TYPES;
+        final long targets = ~this.allianceBitBoards[side];
+        final long occupied = getOccupiedBitBoard();
+        int count = 0;
+
+        for(long pawns = this.pieceBitBoards[offset + PieceType.PAWN.ordinal()]; pawns != 0; pawns = BitBoards.clearFirstSquare(pawns)){
+            count += countPawnMoves(side, BitBoards.firstSquare(pawns));
+        }
+        for(long knights = this.pieceBitBoards[offset + PieceType.KNIGHT.ordinal()]; knights != 0; knights = BitBoards.clearFirstSquare(knights)){
+            count += BitBoards.count(AttackTables.KNIGHT_ATTACKS[BitBoards.firstSquare(knights)] & targets);
+        }
+        for(long bishops = this.pieceBitBoards[offset + PieceType.BISHOP.ordinal()]; bishops != 0; bishops = BitBoards.clearFirstSquare(bishops)){
+            count += BitBoards.count(MagicBitboards.bishopAttacks(BitBoards.firstSquare(bishops), occupied) & targets);
+        }
+        for(long rooks = this.pieceBitBoards[offset + PieceType.ROOK.ordinal()]; rooks != 0; rooks = BitBoards.clearFirstSquare(rooks)){
+            count += BitBoards.count(MagicBitboards.rookAttacks(BitBoards.firstSquare(rooks), occupied) & targets);
+        }
+        for(long queens = this.pieceBitBoards[offset + PieceType.QUEEN.ordinal()]; queens != 0; queens = BitBoards.clearFirstSquare(queens)){
+            count += BitBoards.count(MagicBitboards.queenAttacks(BitBoards.firstSquare(queens), occupied) & targets);
+        }
+        for(long kings = this.pieceBitBoards[offset + PieceType.KING.ordinal()]; kings != 0; kings = BitBoards.clearFirstSquare(kings)){
+            count += BitBoards.count(AttackTables.KING_ATTACKS[BitBoards.firstSquare(kings)] & targets);
+            count += countCastleMoves(side);
+        }
+        return count;
+    }
+
+    private int countPawnMoves(final int side, final int square){
+        final int forward = side == WHITE ? -8 : 8;
+        final int startRank = side == WHITE ? 6 : 1;
+        final int destination = square + forward;
+        final long attacks = AttackTables.PAWN_ATTACKS[side][square];
+        int count = BitBoards.count(attacks & this.allianceBitBoards[side ^ 1]);
+
+        if(this.mailbox[destination] == NO_PIECE){
+            count++;
+            if((square >>> 3) == startRank && this.mailbox[destination + forward] == NO_PIECE){
+                count++;
+            }
+        }
+        if(this.enPassantSquare != NO_SQUARE && side == this.sideToMove
+           && BitBoards.isSet(attacks, this.enPassantSquare)){
+            count++;
+        }
+        return count;
+    }
+
+    private int countCastleMoves(final int side){
+        final int kingSquare = side == WHITE ? 60 : 4;
+        final int kingSide = side == WHITE ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        final int queenSide = side == WHITE ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        final Alliance opponent = side == WHITE ? Alliance.BLACK : Alliance.WHITE;
+        int count = 0;
+
+        if((this.castlingRights & (kingSide | queenSide)) == 0 || SquareAttacks.isSquareAttacked(this, kingSquare, opponent)){
+            return count;
+        }
+        // The King may not pass through or land on an attacked tile
+        if((this.castlingRights & kingSide) != 0
+           && this.mailbox[kingSquare + 1] == NO_PIECE && this.mailbox[kingSquare + 2] == NO_PIECE
+           && !SquareAttacks.isSquareAttacked(this, kingSquare + 1, opponent)
+           && !SquareAttacks.isSquareAttacked(this, kingSquare + 2, opponent)){
+            count++;
+        }
+        if((this.castlingRights & queenSide) != 0
+           && this.mailbox[kingSquare - 1] == NO_PIECE && this.mailbox[kingSquare - 2] == NO_PIECE
+           && this.mailbox[kingSquare - 3] == NO_PIECE
+           && !SquareAttacks.isSquareAttacked(this, kingSquare - 1, opponent)
+           && !SquareAttacks.isSquareAttacked(this, kingSquare - 2, opponent)){
+            count++;
+        }
+        return count;
+    }
+
+    // Make and unmake
+    public void makeMove(final int move){
+        final int source = EncodedMove.source(move);
+        final int destination = EncodedMove.destination(move);
+        final int movedPiece = this.mailbox[source];
+        int capturedPiece = this.mailbox[destination];
+
+        if(this.ply == this.moveStack.length){
+            growUndoStack();
+        }
+        this.moveStack[this.ply] = move;
+        this.castlingStack[this.ply] = this.castlingRights;
+        this.enPassantStack[this.ply] = this.enPassantSquare;
+        this.castledStack[this.ply] = this.castledFlags;
+        this.keyStack[this.ply] = this.zobristKey;
+
+        if(EncodedMove.isEnPassant(move)){
+            // The captured pawn sits behind the destination tile
+            final int capturedSquare = destination - (this.sideToMove == WHITE ? -8 : 8);
+            capturedPiece = this.mailbox[capturedSquare];
+            removePiece(capturedPiece, capturedSquare);
+        }
+        else if(capturedPiece != NO_PIECE){
+            removePiece(capturedPiece, destination);
+        }
+        this.capturedStack[this.ply] = capturedPiece;
+
+        removePiece(movedPiece, source);
+        final PieceType promotionType = EncodedMove.promotionType(move);
+        putPiece(promotionType == null ? movedPiece
+                                       : BitBoards.pieceIndex(promotionType, getSideToMove()), destination);
+
+        if(EncodedMove.isCastle(move)){
+            moveCastleRook(destination, false);
+            this.castledFlags |= 1 << this.sideToMove;
+        }
+
+        // The pieces are already hashed in 'putPiece' and 'removePiece'
+        this.zobristKey ^= ZobristHashing.enPassantKey(this.enPassantSquare) ^ ZobristHashing.castlingKey(this.castlingRights);
+        this.enPassantSquare = EncodedMove.isDoublePush(move) ? (source + destination) / 2 : NO_SQUARE;
+        this.castlingRights &= CASTLING_RIGHTS_MASK[source] & CASTLING_RIGHTS_MASK[destination];
+        this.zobristKey ^= ZobristHashing.enPassantKey(this.enPassantSquare) ^ ZobristHashing.castlingKey(this.castlingRights)
+                           ^ ZobristHashing.sideToMoveKey(Alliance.BLACK);
+        this.sideToMove ^= 1;
+        this.ply++;
+        if(ZobristHashing.VERIFY){
+            ZobristHashing.verify(this);
+        }
+    }
+
+    public void unmakeMove(){
+        this.ply--;
+        this.sideToMove ^= 1;
+
+        final int move = this.moveStack[this.ply];
+        final int source = EncodedMove.source(move);
+        final int destination = EncodedMove.destination(move);
+        final int capturedPiece = this.capturedStack[this.ply];
+
+        if(EncodedMove.isCastle(move)){
+            moveCastleRook(destination, true);
+        }
+
+        final int pieceOnDestination = this.mailbox[destination];
+        removePiece(pieceOnDestination, destination);
+        putPiece(!EncodedMove.isPromotion(move) ? pieceOnDestination
+                                             : BitBoards.pieceIndex(PieceType.PAWN, getSideToMove()), source);
+
+        if(EncodedMove.isEnPassant(move)){
+            putPiece(capturedPiece, destination - (this.sideToMove == WHITE ? -8 : 8));
+        }
+        else if(capturedPiece != NO_PIECE){
+            putPiece(capturedPiece, destination);
+        }
+
+        this.castlingRights = this.castlingStack[this.ply];
+        this.enPassantSquare = this.enPassantStack[this.ply];
+        this.castledFlags = this.castledStack[this.ply];
+        this.zobristKey = this.keyStack[this.ply];
+    }
+
+    // Passes the turn to the opponent, for null move pruning. Not for a player in check.
+    public void makeNullMove(){
+        if(this.ply == this.moveStack.length){
+            growUndoStack();
+        }
+        this.moveStack[this.ply] = EncodedMove.NULL_MOVE;
+        this.capturedStack[this.ply] = NO_PIECE;
+        this.castlingStack[this.ply] = this.castlingRights;
+        this.enPassantStack[this.ply] = this.enPassantSquare;
+        this.castledStack[this.ply] = this.castledFlags;
+        this.keyStack[this.ply] = this.zobristKey;
+
+        // The en passant capture is lost when the turn is passed
+        this.zobristKey ^= ZobristHashing.enPassantKey(this.enPassantSquare) ^ ZobristHashing.sideToMoveKey(Alliance.BLACK);
+        this.enPassantSquare = NO_SQUARE;
+        this.sideToMove ^= 1;
+        this.ply++;
+        if(ZobristHashing.VERIFY){
+            ZobristHashing.verify(this);
+        }
+    }
+
+    public void unmakeNullMove(){
+        this.ply--;
+        this.sideToMove ^= 1;
+        this.enPassantSquare = this.enPassantStack[this.ply];
+        this.zobristKey = this.keyStack[this.ply];
+    }
+
+    private void moveCastleRook(final int kingDestination, final boolean undo){
+        // King side castle puts the rook to the left of the King, queen side to the right
+        final boolean isKingSide = (kingDestination & 7) == 6;
+        final int rookStart = isKingSide ? kingDestination + 1 : kingDestination - 2;
+        final int rookDestination = isKingSide ? kingDestination - 1 : kingDestination + 1;
+        final int rook = BitBoards.pieceIndex(PieceType.ROOK, getSideToMove());
+
+        removePiece(rook, undo ? rookDestination : rookStart);
+        putPiece(rook, undo ? rookStart : rookDestination);
+    }
+
+    private void putPiece(final int pieceCode, final int square){
+        final long bit = BitBoards.squareBit(square);
+        this.mailbox[square] = pieceCode;
+        this.pieceBitBoards[pieceCode] |= bit;
+        this.allianceBitBoards[pieceAlliance(pieceCode)] |= bit;
+        this.zobristKey ^= ZobristHashing.pieceKey(pieceCode, square);
+    }
+
+    private void removePiece(final int pieceCode, final int square){
+        final long bit = BitBoards.squareBit(square);
+        this.mailbox[square] = NO_PIECE;
+        this.pieceBitBoards[pieceCode] &= ~bit;
+        this.allianceBitBoards[pieceAlliance(pieceCode)] &= ~bit;
+        this.zobristKey ^= ZobristHashing.pieceKey(pieceCode, square);
+    }
+
+    private void growUndoStack(){
+        final int size = this.moveStack.length * 2;
+        this.moveStack = Arrays.copyOf(this.moveStack, size);
+        this.capturedStack = Arrays.copyOf(this.capturedStack, size);
+        this.castlingStack = Arrays.copyOf(this.castlingStack, size);
+        this.enPassantStack = Arrays.copyOf(this.enPassantStack, size);
+        this.castledStack = Arrays.copyOf(this.castledStack, size);
+        this.keyStack = Arrays.copyOf(this.keyStack, size);
+    }
+
+    private static int[] initCastlingRightsMask(){
+        final int[] mask = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(mask, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        mask[63] &= ~WHITE_KING_SIDE;
+        mask[56] &= ~WHITE_QUEEN_SIDE;
+        mask[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[7] &= ~BLACK_KING_SIDE;
+        mask[0] &= ~BLACK_QUEEN_SIDE;
+        return mask;
+    }
+
+    @Override
+    public String toString(){
+        return toBoard().toString();
+    }
+}
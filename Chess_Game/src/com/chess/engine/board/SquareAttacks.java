@@ -0,0 +1,34 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+
+/**This class answers whether a tile is attacked. Instead of generating the
+moves of the attacking side, it looks outward from the tile with the attack
+tables: a knight of the attacker on a knight jump away, a slider of the
+attacker on an open ray and so on.*/
+public final class SquareAttacks {
+
+    private SquareAttacks(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    // Is 'square' attacked by any piece of 'attacker'? Looks outward from the square.
+    public static boolean isSquareAttacked(final BitboardPosition position, final int square, final Alliance attacker){
+        return attackersOf(position, square, attacker, position.getOccupiedBitBoard()) != 0;
+    }
+
+    // Pieces of 'attacker' that attack 'square' with the given board occupancy
+    public static long attackersOf(final BitboardPosition position, final int square,
+                                   final Alliance attacker, final long occupied){
+        final Alliance defender = attacker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long queens = position.getPieceBitBoard(PieceType.QUEEN, attacker);
+
+        // A pawn of the attacker sits where a defending pawn on 'square' would attack
+        return (AttackTables.pawnAttacks(defender, square) & position.getPieceBitBoard(PieceType.PAWN, attacker))
+               | (AttackTables.KNIGHT_ATTACKS[square] & position.getPieceBitBoard(PieceType.KNIGHT, attacker))
+               | (AttackTables.KING_ATTACKS[square] & position.getPieceBitBoard(PieceType.KING, attacker))
+               | (MagicBitboards.bishopAttacks(square, occupied) & (position.getPieceBitBoard(PieceType.BISHOP, attacker) | queens))
+               | (MagicBitboards.rookAttacks(square, occupied) & (position.getPieceBitBoard(PieceType.ROOK, attacker) | queens));
+    }
+}
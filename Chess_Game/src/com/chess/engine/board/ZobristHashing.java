@@ -0,0 +1,101 @@
+package com.chess.engine.board;
+
+import java.util.Random;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+
+/**This class holds the random keys of the Zobrist position hash. The key of
+a position is the XOR of one key per piece on its tile, a key for black to
+move, a key for the castling rights and a key for the en passant file. A
+move only has to XOR out what it removes and XOR in what it adds, so 'Board'
+and 'SearchPosition' keep their key up to date without rehashing the board.
+
+Run with '-Dchess.zobrist.verify=true' to check every incremental key
+against a full recompute.*/
+public final class ZobristHashing {
+
+    // Fixed seed, so the keys are the same in every run
+    private static final long SEED = 0x5EED_2B0B_7A1DL;
+
+    // Debug mode, set from the 'chess.zobrist.verify' system property
+    public static final boolean VERIFY = Boolean.getBoolean("chess.zobrist.verify");
+
+    // Indexed by [piece bitboard index][tile], see 'BitBoards.pieceIndex'
+    private static final long[][] PIECE_KEYS = new long[BitBoards.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES];
+    // Indexed by the castling right flags of 'BitboardPosition'
+    private static final long[] CASTLING_KEYS = new long[16];
+    // Indexed by the file of the en passant tile
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_RANK];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static{
+        final Random random = new Random(SEED);
+        for(final long[] pieceKeys : PIECE_KEYS){
+            for(int tile = 0; tile < pieceKeys.length; tile++){
+                pieceKeys[tile] = random.nextLong();
+            }
+        }
+        // No castling rights leave the key unchanged
+        for(int rights = 1; rights < CASTLING_KEYS.length; rights++){
+            CASTLING_KEYS[rights] = random.nextLong();
+        }
+        for(int file = 0; file < EN_PASSANT_KEYS.length; file++){
+            EN_PASSANT_KEYS[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private ZobristHashing(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    public static long pieceKey(final int pieceIndex, final int tileCoordinate){
+        return PIECE_KEYS[pieceIndex][tileCoordinate];
+    }
+
+    public static long pieceKey(final PieceType pieceType, final Alliance alliance, final int tileCoordinate){
+        return PIECE_KEYS[BitBoards.pieceIndex(pieceType, alliance)][tileCoordinate];
+    }
+
+    public static long castlingKey(final int castlingRights){
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    // 'NO_SQUARE' leaves the key unchanged
+    public static long enPassantKey(final int enPassantSquare){
+        return enPassantSquare == BitboardPosition.NO_SQUARE ? 0L : EN_PASSANT_KEYS[enPassantSquare & 7];
+    }
+
+    public static long sideToMoveKey(final Alliance sideToMove){
+        return sideToMove.isWhite() ? 0L : BLACK_TO_MOVE_KEY;
+    }
+
+    // Key of the piece placement only, as kept by a 'Builder'
+    public static long computePlacementKey(final BitboardPosition position){
+        long key = 0L;
+        for(final Alliance alliance : Alliance.values()){
+            for(final PieceType pieceType : PieceType.values()){
+                for(long pieces = position.getPieceBitBoard(pieceType, alliance); pieces != 0; pieces = BitBoards.clearFirstSquare(pieces)){
+                    key ^= pieceKey(pieceType, alliance, BitBoards.firstSquare(pieces));
+                }
+            }
+        }
+        return key;
+    }
+
+    // Full recompute of the key, the incremental keys must always match it
+    public static long computeKey(final BitboardPosition position){
+        return computePlacementKey(position)
+               ^ castlingKey(position.getCastlingRights())
+               ^ enPassantKey(position.getEnPassantSquare())
+               ^ sideToMoveKey(position.getSideToMove());
+    }
+
+    // Only called in debug mode
+    static void verify(final BitboardPosition position){
+        if(position.getZobristKey() != computeKey(position)){
+            throw new RuntimeException("Incremental Zobrist key does not match the position!\n" + position);
+        }
+    }
+}
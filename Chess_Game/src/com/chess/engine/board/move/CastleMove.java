@@ -3,6 +3,7 @@ package com.chess.engine.board.move;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Builder;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceCache;
 import com.chess.engine.pieces.Rook;
 
 public abstract class CastleMove extends Move{
@@ -36,20 +37,12 @@ public abstract class CastleMove extends Move{
 
     @Override
     public Board execute(){
-        final Builder builder = new Builder();
-
-        for(final Piece piece : this.board.currentPlayer().getActivePieces()){
-            if(!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)){
-                builder.setPiece(piece);
-            }
-        }
-
-        for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
-            builder.setPiece(piece);
-        }
+        final Builder builder = new Builder(this.board);
+        builder.removePiece(this.getCurrentCoordinate());
+        builder.removePiece(this.castleRook.getPiecePosition());
 
         builder.setPiece(this.movedPiece.newPiece(this));
-        builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceAlliance()));
+        builder.setPiece(PieceCache.getRook(this.castleRookDestination, this.castleRook.getPieceAlliance(), true));
         builder.nextPlayer(this.board.currentPlayer().getOpponent().getAlliance());
 
         return builder.build();
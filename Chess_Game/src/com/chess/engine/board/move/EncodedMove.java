@@ -0,0 +1,117 @@
+package com.chess.engine.board.move;
+
+import com.chess.engine.PieceType;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+
+/**This class packs a move into a single 32-bit integer for the AI search,
+so the search can keep its moves in a 'MoveList' instead of allocating a
+'Move' object per move. The layout of an encoded move is:
+
+    bits  0-5   source tile
+    bits  6-11  destination tile
+    bits 12-14  moved piece type
+    bits 15-17  captured piece type + 1 (0 if nothing is captured)
+    bits 18-20  promotion piece type + 1 (0 if no promotion)
+    bits 21-23  double push, en passant and castle flags
+
+The alliance is not stored, it is always the alliance of the player to move.*/
+public final class EncodedMove {
+
+    // No real move has the same source and destination tile
+    public static final int NULL_MOVE = 0;
+
+    public static final int FLAG_DOUBLE_PUSH = 1 << 21;
+    public static final int FLAG_EN_PASSANT = 1 << 22;
+    public static final int FLAG_CASTLE = 1 << 23;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TYPE_MASK = 0x7;
+    private static final int DESTINATION_SHIFT = 6;
+    private static final int PIECE_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 15;
+    private static final int PROMOTION_SHIFT = 18;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private EncodedMove(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    // 'capturedType' and 'promotionType' may be null
+    public static int create(final int source, final int destination, final PieceType pieceType,
+                             final PieceType capturedType, final PieceType promotionType, final int flags){
+        return source
+               | (destination << DESTINATION_SHIFT)
+               | (pieceType.ordinal() << PIECE_SHIFT)
+               | (capturedType == null ? 0 : (capturedType.ordinal() + 1) << CAPTURED_SHIFT)
+               | (promotionType == null ? 0 : (promotionType.ordinal() + 1) << PROMOTION_SHIFT)
+               | flags;
+    }
+
+    public static int source(final int move){
+        return move & SQUARE_MASK;
+    }
+
+    public static int destination(final int move){
+        return (move >>> DESTINATION_SHIFT) & SQUARE_MASK;
+    }
+
+    public static PieceType pieceType(final int move){
+        return PIECE_TYPES[(move >>> PIECE_SHIFT) & TYPE_MASK];
+    }
+
+    public static PieceType capturedType(final int move){
+        final int captured = (move >>> CAPTURED_SHIFT) & TYPE_MASK;
+        return captured == 0 ? null : PIECE_TYPES[captured - 1];
+    }
+
+    public static PieceType promotionType(final int move){
+        final int promotion = (move >>> PROMOTION_SHIFT) & TYPE_MASK;
+        return promotion == 0 ? null : PIECE_TYPES[promotion - 1];
+    }
+
+    public static boolean isCapture(final int move){
+        return ((move >>> CAPTURED_SHIFT) & TYPE_MASK) != 0;
+    }
+
+    public static boolean isPromotion(final int move){
+        return ((move >>> PROMOTION_SHIFT) & TYPE_MASK) != 0;
+    }
+
+    public static boolean isDoublePush(final int move){
+        return (move & FLAG_DOUBLE_PUSH) != 0;
+    }
+
+    public static boolean isEnPassant(final int move){
+        return (move & FLAG_EN_PASSANT) != 0;
+    }
+
+    public static boolean isCastle(final int move){
+        return (move & FLAG_CASTLE) != 0;
+    }
+
+    // Adapters between the encoded moves and the 'Move' objects of the board
+    public static int fromMove(final Move move){
+        final PieceType capturedType = move.isAttack() ? move.getAttackedPiece().getPieceType() : null;
+        final PieceType promotionType = move instanceof PawnPromotion ? ((PawnPromotion) move).getPromotionType() : null;
+        final int flags = (move instanceof PawnJump ? FLAG_DOUBLE_PUSH : 0)
+                          | (move instanceof PawnEnPassantAttack ? FLAG_EN_PASSANT : 0)
+                          | (move.isCastlingMove() ? FLAG_CASTLE : 0);
+
+        return create(move.getCurrentCoordinate(), move.getDestinationCoordinate(),
+                      move.getMovedPiece().getPieceType(), capturedType, promotionType, flags);
+    }
+
+    // The same move on 'board', promoting to the same piece ('Move.INVALID_MOVE' if the board has no such move)
+    public static Move toMove(final Board board, final int move){
+        return MoveFactory.createMove(board, source(move), destination(move), promotionType(move));
+    }
+
+    public static String toString(final int move){
+        final PieceType promotionType = promotionType(move);
+        return move == NULL_MOVE ? "null" : BoardUtils.getPositionAtCoordinate(source(move))
+                                            + BoardUtils.getPositionAtCoordinate(destination(move))
+                                            + (promotionType == null ? "" : promotionType.toString().toLowerCase());
+    }
+}
@@ -36,9 +36,10 @@ abstract public class Move {
         final int prime = 31;
         int result = 7; // arbitrary non-zero constant integer 
         result = prime * result + this.destinationCoordinate;
-        result = prime * result + movedPiece.hashCode();
-        result = prime * result + this.movedPiece.getPiecePosition();
-        return result;
+        result = prime * result + (this.movedPiece == null ? 0 : this.movedPiece.hashCode());
+        result = prime * result + getCurrentCoordinate();
+        // Mix the bits, hash tables index moves by their low bits
+        return result ^ (result >>> 16);
     }
 
     @Override
@@ -81,20 +82,13 @@ abstract public class Move {
     }
 
     public Board execute(){
-        final Builder builder = new Builder();
-        for(final Piece piece : this.board.currentPlayer().getActivePieces()){
-            // Place the piece that are NOT being moved at the same location on
-            // a new board. 
-            if(!this.movedPiece.equals(piece)){ // NOT a reference equality! 
-                builder.setPiece(piece);
-            }
-        }
-        // Add the opponent chess pieces to the new board 
-        for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
-            builder.setPiece(piece);
-        }
+        // Start from the current placement and only update the tiles this move changes
+        final Builder builder = new Builder(this.board);
+        builder.removePiece(this.getCurrentCoordinate());
+
         // Actually move the 'movedPiece' to a new destination coordinate 
-        // by creating a new Piece at the destination coordinate
+        // by creating a new Piece at the destination coordinate, a captured
+        // piece on that tile is replaced
         builder.setPiece(this.movedPiece.newPiece(this));
         
         // It's the next players turn 
@@ -1,5 +1,6 @@
 package com.chess.engine.board.move;
 
+import com.chess.engine.PieceType;
 import com.chess.engine.board.Board;
 
 public class MoveFactory {
@@ -10,13 +11,16 @@ public class MoveFactory {
     public static Move createMove(final Board board, 
                                   final int currentCoordinate,
                                   final int destinationCoordinate){
-         
-        for(final Move move : board.getAllLegalMoves()){
-            if(move.getCurrentCoordinate() == currentCoordinate &&
-               move.getDestinationCoordinate() == destinationCoordinate){
-                return move;
-            }
-        }
-        return Move.INVALID_MOVE; // Return invalid move object
+        // Constant time lookup in the legal moves of both players
+        final Move move = board.getMoveIndex().get(currentCoordinate, destinationCoordinate);
+        return move != null ? move : Move.INVALID_MOVE; // Return invalid move object
+    }
+
+    public static Move createMove(final Board board,
+                                  final int currentCoordinate,
+                                  final int destinationCoordinate,
+                                  final PieceType promotionType){
+        final Move move = board.getMoveIndex().get(currentCoordinate, destinationCoordinate, promotionType);
+        return move != null ? move : Move.INVALID_MOVE;
     }
 }
@@ -0,0 +1,90 @@
+package com.chess.engine.board.move;
+
+import com.chess.engine.PieceType;
+import com.chess.engine.board.BoardUtils;
+import com.google.common.collect.Iterables;
+
+/**This class indexes the legal moves of a position by source tile,
+destination tile and promotion piece, so finding the move the user clicked
+or checking that a move is legal does not scan every move of the position.
+It is an open addressing hash table with linear probing, built once per
+position and read only afterwards.*/
+public final class MoveIndex {
+
+    // Keys are stored + 1, so 0 marks an empty slot
+    private static final int EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private final int[] keys;
+    private final Move[] moves;
+    private final int mask;
+
+    public MoveIndex(final Iterable<Move> legalMoves){
+        final int size = Iterables.size(legalMoves);
+        // Keep the table at most half full, so the probe sequences stay short
+        int capacity = MIN_CAPACITY;
+        while(capacity < size * 2){
+            capacity <<= 1;
+        }
+        this.keys = new int[capacity];
+        this.moves = new Move[capacity];
+        this.mask = capacity - 1;
+
+        for(final Move move : legalMoves){
+            put(key(move.getCurrentCoordinate(), move.getDestinationCoordinate(), promotionType(move)), move);
+        }
+    }
+
+    // The move from 'source' to 'destination', a promotion if there is no other move (null if none)
+    public Move get(final int source, final int destination){
+        final Move move = get(source, destination, null);
+        return move != null ? move : get(source, destination, PieceType.QUEEN);
+    }
+
+    // 'promotionType' is null for a move that does not promote (returns null if there is no such move)
+    public Move get(final int source, final int destination, final PieceType promotionType){
+        if(!BoardUtils.isValidTileCoordinate(source) || !BoardUtils.isValidTileCoordinate(destination)){
+            return null;
+        }
+        // Only the queen promotion is indexed, an underpromotion is derived from it
+        final int key = key(source, destination, promotionType == null ? null : PieceType.QUEEN);
+        for(int slot = slot(key); this.keys[slot] != EMPTY; slot = (slot + 1) & this.mask){
+            if(this.keys[slot] == key){
+                return promotionType == null ? this.moves[slot] 
+                                             : ((PawnPromotion) this.moves[slot]).withPromotionType(promotionType);
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(final Move move){
+        final Move indexedMove = get(move.getCurrentCoordinate(), move.getDestinationCoordinate(), promotionType(move));
+        return indexedMove != null && indexedMove.equals(move);
+    }
+
+    // The first move added for a key wins, like a scan over the move list would
+    private void put(final int key, final Move move){
+        int slot = slot(key);
+        while(this.keys[slot] != EMPTY){
+            if(this.keys[slot] == key){
+                return;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        this.keys[slot] = key;
+        this.moves[slot] = move;
+    }
+
+    private int slot(final int key){
+        // Fibonacci hashing spreads the packed tile coordinates over the table
+        return (key * 0x9E3779B9) >>> 16 & this.mask;
+    }
+
+    private static int key(final int source, final int destination, final PieceType promotionType){
+        return (source | (destination << 6) | ((promotionType == null ? 0 : promotionType.ordinal() + 1) << 12)) + 1;
+    }
+
+    private static PieceType promotionType(final Move move){
+        return move instanceof PawnPromotion ? ((PawnPromotion) move).getPromotionType() : null;
+    }
+}
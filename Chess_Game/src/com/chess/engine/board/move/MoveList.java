@@ -0,0 +1,94 @@
+package com.chess.engine.board.move;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.chess.engine.board.Board;
+import com.google.common.collect.ImmutableList;
+
+/**This class is a reusable list of 'EncodedMove' integers. The AI search
+keeps one list per ply and clears it between the nodes, so generating moves
+does not allocate anything.*/
+public final class MoveList {
+
+    // No chess position has more legal moves than this
+    public static final int MAX_MOVES = 256;
+
+    private final int[] moves;
+    private int size;
+
+    public MoveList(){
+        this.moves = new int[MAX_MOVES];
+    }
+
+    public void add(final int move){
+        this.moves[this.size++] = move;
+    }
+
+    public int get(final int index){
+        return this.moves[index];
+    }
+
+    public void set(final int index, final int move){
+        this.moves[index] = move;
+    }
+
+    public void swap(final int first, final int second){
+        final int move = this.moves[first];
+        this.moves[first] = this.moves[second];
+        this.moves[second] = move;
+    }
+
+    public int size(){
+        return this.size;
+    }
+
+    public boolean isEmpty(){
+        return this.size == 0;
+    }
+
+    public boolean contains(final int move){
+        for(int i = 0; i < this.size; i++){
+            if(this.moves[i] == move){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Keep only the first 'size' moves
+    public void truncate(final int size){
+        this.size = size;
+    }
+
+    public void clear(){
+        this.size = 0;
+    }
+
+    // Adapters between the list and the 'Move' objects of the board
+    public static MoveList fromMoves(final Collection<Move> moves){
+        final MoveList moveList = new MoveList();
+        for(final Move move : moves){
+            moveList.add(EncodedMove.fromMove(move));
+        }
+        return moveList;
+    }
+
+    public List<Move> toMoves(final Board board){
+        final List<Move> boardMoves = new ArrayList<>(this.size);
+        for(int i = 0; i < this.size; i++){
+            boardMoves.add(EncodedMove.toMove(board, this.moves[i]));
+        }
+        return ImmutableList.copyOf(boardMoves);
+    }
+
+    @Override
+    public String toString(){
+        final StringBuilder builder = new StringBuilder("[");
+        for(int i = 0; i < this.size; i++){
+            builder.append(i == 0 ? "" : ", ").append(EncodedMove.toString(this.moves[i]));
+        }
+        return builder.append("]").toString();
+    }
+}
@@ -20,21 +20,11 @@ public class PawnEnPassantAttack extends PawnAttackMove{
 
     @Override
     public Board execute(){
-        final Builder builder = new Builder();
+        final Builder builder = new Builder(this.board);
 
-        // Update the position of current player pieces that are NOT under attack
-        for(final Piece piece : this.board.currentPlayer().getActivePieces()){
-            if(!this.movedPiece.equals(piece)){
-                builder.setPiece(piece);
-            }
-        }
-
-        // Update the position of opponent player pieces that are NOT under attack
-        for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
-            if(!piece.equals(this.getAttackedPiece())){
-                builder.setPiece(piece);
-            }
-        }
+        // The attacked pawn is NOT on the destination tile, remove it separately
+        builder.removePiece(this.getCurrentCoordinate());
+        builder.removePiece(this.getAttackedPiece().getPiecePosition());
 
         builder.setPiece(this.movedPiece.newPiece(this));
         builder.nextPlayer(this.board.currentPlayer().getOpponent().getAlliance());
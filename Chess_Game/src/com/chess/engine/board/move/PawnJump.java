@@ -15,17 +15,8 @@ public class PawnJump extends Move{
 
     @Override
     public Board execute(){
-        final Builder builder = new Builder();
-
-        for(final Piece piece : this.board.currentPlayer().getActivePieces()){
-            if(!this.movedPiece.equals(piece)){
-                builder.setPiece(piece);
-            }
-        }
-
-        for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
-            builder.setPiece(piece);
-        }
+        final Builder builder = new Builder(this.board);
+        builder.removePiece(this.getCurrentCoordinate());
 
         final Pawn movedPawn = (Pawn) this.movedPiece.newPiece(this); 
         builder.setPiece(movedPawn);
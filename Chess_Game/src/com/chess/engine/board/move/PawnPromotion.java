@@ -1,52 +1,59 @@
 package com.chess.engine.board.move;
 
+import com.chess.engine.PieceType;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Builder;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
 
+/**The legal moves of a board hold the queen promotion only, the promotions
+to the other pieces are the same move with another piece ('withPromotionType').*/
 public class PawnPromotion extends Move{
     final Move decoratedMove;
     final Pawn promotedPawn;
+    final PieceType promotionType;
 
     public PawnPromotion(final Move decoratedMove) {
+        this(decoratedMove, PieceType.QUEEN);
+    }
+
+    public PawnPromotion(final Move decoratedMove, final PieceType promotionType) {
         super(decoratedMove.getBoard(), decoratedMove.getMovedPiece(), decoratedMove.getDestinationCoordinate());
         this.decoratedMove = decoratedMove;
         this.promotedPawn = (Pawn) decoratedMove.getMovedPiece(); 
+        this.promotionType = promotionType;
+    }
+
+    public PieceType getPromotionType(){
+        return this.promotionType;
+    }
+
+    // The same promotion to another piece, legal whenever this one is
+    public PawnPromotion withPromotionType(final PieceType promotionType){
+        return promotionType == this.promotionType ? this : new PawnPromotion(this.decoratedMove, promotionType);
     }
 
     @Override
     public int hashCode(){
-        return decoratedMove.hashCode() + (31 * promotedPawn.hashCode());
+        return decoratedMove.hashCode() + (31 * promotedPawn.hashCode()) + (31 * 31 * promotionType.ordinal());
     }
 
     @Override
     public boolean equals(final Object other){
-        return this == other || (other instanceof PawnPromotion && super.equals(other));
+        return this == other || (other instanceof PawnPromotion 
+                                 && this.promotionType == ((PawnPromotion) other).promotionType 
+                                 && super.equals(other));
     }
     
     @Override
     public Board execute(){
-        final Board pawnMoveBoard = this.decoratedMove.execute();
-        final Builder builder = new Builder();
-
-        // Put current players pieces that are not the promoted pawn in their
-        // current location on the new board. 
-        for(final Piece piece : pawnMoveBoard.currentPlayer().getActivePieces()){
-            if(!this.promotedPawn.equals(piece)){
-                builder.setPiece(piece);
-            }
-        }
-
-        // Put opponent players pieces on the new board at their current 
-        // positions.
-        for(final Piece piece : pawnMoveBoard.currentPlayer().getOpponent().getActivePieces()){
-            builder.setPiece(piece);
-        }
+        // The pawn leaves its tile and the promoted piece takes the destination tile
+        final Builder builder = new Builder(this.board);
+        builder.removePiece(this.getCurrentCoordinate());
 
         // Promote the piece and change player
-        builder.setPiece(this.promotedPawn.getPromotionPiece().newPiece(this));
-        builder.nextPlayer(pawnMoveBoard.currentPlayer().getAlliance());
+        builder.setPiece(this.promotedPawn.getPromotionPiece(this.promotionType).newPiece(this));
+        builder.nextPlayer(this.board.currentPlayer().getOpponent().getAlliance());
        
         // Return the new board with the promoted piece 
         return builder.build(); 
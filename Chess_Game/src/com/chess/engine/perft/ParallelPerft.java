@@ -0,0 +1,217 @@
+package com.chess.engine.perft;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.move.MoveList;
+import com.chess.pgn.FenUtils;
+
+/**This class runs perft on a 'ForkJoinPool'. The top of the tree is split
+into one task per move, which idle worker threads steal from each other;
+below 'SPLIT_DEPTH' a task counts its subtree on its own. Subtrees that
+were counted before, reached by another move order or by another thread,
+come out of a shared lock-free 'PerftHash'.
+
+Run 'main' with a FEN and a depth to print the total, the nodes counted by
+every worker thread and the hash hit rate.*/
+public final class ParallelPerft {
+
+    // Remaining depth below which a task does not split any further
+    private static final int SPLIT_DEPTH = 3;
+    private static final int DEFAULT_HASH_SIZE = 1 << 20;
+    private static final int DEFAULT_DEPTH = 6;
+
+    private final ForkJoinPool pool;
+    private final PerftHash hash;
+    // Statistics of every worker thread, registered on its first task
+    private final ConcurrentLinkedQueue<WorkerStatistics> workerStatistics = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<WorkerStatistics> localStatistics = ThreadLocal.withInitial(this::registerWorker);
+
+    public ParallelPerft(){
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_HASH_SIZE);
+    }
+
+    // 'hashSize' is the number of hash entries, 16 bytes each
+    public ParallelPerft(final int threads, final int hashSize){
+        this.pool = new ForkJoinPool(threads);
+        this.hash = new PerftHash(hashSize);
+    }
+
+    public static void main(final String[] args){
+        final Board board = FenUtils.createGameFromArgs(args);
+        final int depth = FenUtils.depthFromArgs(args, DEFAULT_DEPTH);
+
+        final ParallelPerft perft = new ParallelPerft();
+        final long start = System.nanoTime();
+        final long nodes = perft.perft(board, depth);
+        final long elapsed = Math.max(System.nanoTime() - start, 1);
+
+        System.out.println("Nodes: " + nodes);
+        System.out.printf("Time: %.3f s%n", elapsed / 1e9);
+        System.out.println("Nodes per second: " + (long) (nodes * 1e9 / elapsed));
+        for(final Map.Entry<String, Long> threadNodes : perft.getThreadNodeCounts().entrySet()){
+            System.out.println(threadNodes.getKey() + ": " + threadNodes.getValue() + " nodes");
+        }
+        System.out.printf("Hash hit rate: %.1f%%%n", perft.getHashHitRate() * 100);
+        perft.shutdown();
+    }
+
+    public long perft(final Board board, final int depth){
+        return perft(SearchPosition.fromBoard(board), depth);
+    }
+
+    // The hash is kept between calls, the statistics are reset
+    public long perft(final SearchPosition position, final int depth){
+        for(final WorkerStatistics statistics : this.workerStatistics){
+            statistics.reset();
+        }
+        return depth == 0 ? 1 : this.pool.invoke(new PerftTask(position.copy(), depth));
+    }
+
+    // Nodes counted by every worker thread in the last run, hash hits are not counted
+    public Map<String, Long> getThreadNodeCounts(){
+        final Map<String, Long> nodeCounts = new LinkedHashMap<>();
+        for(final WorkerStatistics statistics : this.workerStatistics){
+            nodeCounts.put(statistics.threadName, statistics.nodes);
+        }
+        return nodeCounts;
+    }
+
+    // Share of the hash probes of the last run that found the subtree count
+    public double getHashHitRate(){
+        long probes = 0;
+        long hits = 0;
+        for(final WorkerStatistics statistics : this.workerStatistics){
+            probes += statistics.hashProbes;
+            hits += statistics.hashHits;
+        }
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    public void clearHash(){
+        this.hash.clear();
+    }
+
+    public void shutdown(){
+        this.pool.shutdown();
+    }
+
+    private WorkerStatistics registerWorker(){
+        final WorkerStatistics statistics = new WorkerStatistics(Thread.currentThread().getName());
+        this.workerStatistics.add(statistics);
+        return statistics;
+    }
+
+    // Counted on the thread that runs the task
+    private long countNodes(final SearchPosition position, final int depth, final WorkerStatistics statistics){
+        final MoveList moves = statistics.moveBuffer(depth);
+        final int moveCount = position.generateLegalMoves(moves);
+        if(depth == 1){
+            statistics.nodes += moveCount;
+            return moveCount;
+        }
+        final long key = position.getZobristKey();
+        final long cachedNodes = probe(key, depth, statistics);
+        if(cachedNodes != PerftHash.MISS){
+            return cachedNodes;
+        }
+
+        long nodes = 0;
+        for(int i = 0; i < moveCount; i++){
+            position.makeMove(moves.get(i));
+            nodes += countNodes(position, depth - 1, statistics);
+            position.unmakeMove();
+        }
+        this.hash.store(key, depth, nodes);
+        return nodes;
+    }
+
+    private long probe(final long key, final int depth, final WorkerStatistics statistics){
+        final long nodes = this.hash.probe(key, depth);
+        statistics.hashProbes++;
+        if(nodes != PerftHash.MISS){
+            statistics.hashHits++;
+        }
+        return nodes;
+    }
+
+    private final class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        // Owned by this task, every subtask gets its own copy
+        private final SearchPosition position;
+        private final int depth;
+
+        PerftTask(final SearchPosition position, final int depth){
+            this.position = position;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute(){
+            final WorkerStatistics statistics = localStatistics.get();
+            if(this.depth < SPLIT_DEPTH){
+                return countNodes(this.position, this.depth, statistics);
+            }
+            final long key = this.position.getZobristKey();
+            final long cachedNodes = probe(key, this.depth, statistics);
+            if(cachedNodes != PerftHash.MISS){
+                return cachedNodes;
+            }
+
+            final MoveList moves = new MoveList();
+            final int moveCount = this.position.generateLegalMoves(moves);
+            final List<PerftTask> subtasks = new ArrayList<>(moveCount);
+            for(int i = 0; i < moveCount; i++){
+                final SearchPosition child = this.position.copy();
+                child.makeMove(moves.get(i));
+                subtasks.add(new PerftTask(child, this.depth - 1));
+            }
+
+            long nodes = 0;
+            for(final PerftTask subtask : invokeAll(subtasks)){
+                nodes += subtask.join();
+            }
+            hash.store(key, this.depth, nodes);
+            return nodes;
+        }
+    }
+
+    // Only written by its own thread, read once the pool is done with a run
+    private static final class WorkerStatistics {
+        private final String threadName;
+        private MoveList[] moveBuffers = new MoveList[0];
+        private long nodes;
+        private long hashProbes;
+        private long hashHits;
+
+        WorkerStatistics(final String threadName){
+            this.threadName = threadName;
+        }
+
+        MoveList moveBuffer(final int depth){
+            if(depth >= this.moveBuffers.length){
+                final int oldLength = this.moveBuffers.length;
+                this.moveBuffers = Arrays.copyOf(this.moveBuffers, depth + 1);
+                for(int i = oldLength; i <= depth; i++){
+                    this.moveBuffers[i] = new MoveList();
+                }
+            }
+            return this.moveBuffers[depth];
+        }
+
+        void reset(){
+            this.nodes = 0;
+            this.hashProbes = 0;
+            this.hashHits = 0;
+        }
+    }
+}
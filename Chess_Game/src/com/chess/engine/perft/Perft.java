@@ -0,0 +1,97 @@
+package com.chess.engine.perft;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.MoveList;
+import com.chess.pgn.FenUtils;
+
+/**This class counts the leaf nodes of the legal move tree of a position to a
+fixed depth ("perft"). The counts of well known positions are published, so
+a wrong count points at a bug in the move generator, and 'divide' splits the
+count by root move to find the branch it is in. Run 'main' with a FEN and a
+depth to print the split, the total and the nodes per second.*/
+public final class Perft {
+
+    private static final int DEFAULT_DEPTH = 5;
+
+    private Perft(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    public static void main(final String[] args){
+        final Board board = FenUtils.createGameFromArgs(args);
+        final int depth = FenUtils.depthFromArgs(args, DEFAULT_DEPTH);
+
+        final long start = System.nanoTime();
+        final Map<String, Long> counts = divide(board, depth);
+        final long elapsed = Math.max(System.nanoTime() - start, 1);
+
+        long nodes = 0;
+        for(final Map.Entry<String, Long> count : counts.entrySet()){
+            System.out.println(count.getKey() + ": " + count.getValue());
+            nodes += count.getValue();
+        }
+        System.out.println();
+        System.out.println("Moves: " + counts.size());
+        System.out.println("Nodes: " + nodes);
+        System.out.printf("Time: %.3f s%n", elapsed / 1e9);
+        System.out.println("Nodes per second: " + (long) (nodes * 1e9 / elapsed));
+    }
+
+    public static long perft(final Board board, final int depth){
+        return perft(SearchPosition.fromBoard(board), depth);
+    }
+
+    // The position is left as it was found
+    public static long perft(final SearchPosition position, final int depth){
+        return depth == 0 ? 1 : countNodes(position, depth, createMoveBuffers(depth));
+    }
+
+    // Leaf node count below every root move, in generation order
+    public static Map<String, Long> divide(final Board board, final int depth){
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        if(depth < 1){
+            return counts;
+        }
+        final MoveList[] moveBuffers = createMoveBuffers(depth);
+        final MoveList moves = moveBuffers[depth];
+        final int moveCount = position.generateLegalMoves(moves);
+
+        for(int i = 0; i < moveCount; i++){
+            position.makeMove(moves.get(i));
+            counts.put(EncodedMove.toString(moves.get(i)), depth == 1 ? 1 : countNodes(position, depth - 1, moveBuffers));
+            position.unmakeMove();
+        }
+        return counts;
+    }
+
+    private static long countNodes(final SearchPosition position, final int depth, final MoveList[] moveBuffers){
+        final MoveList moves = moveBuffers[depth];
+        final int moveCount = position.generateLegalMoves(moves);
+        // Bulk counting, the moves of the last ply are legal so they do not have to be made
+        if(depth == 1){
+            return moveCount;
+        }
+        long nodes = 0;
+        for(int i = 0; i < moveCount; i++){
+            position.makeMove(moves.get(i));
+            nodes += countNodes(position, depth - 1, moveBuffers);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    // One move list per remaining depth, reused between the nodes
+    private static MoveList[] createMoveBuffers(final int depth){
+        final MoveList[] moveBuffers = new MoveList[depth + 1];
+        for(int i = 0; i <= depth; i++){
+            moveBuffers[i] = new MoveList();
+        }
+        return moveBuffers;
+    }
+}
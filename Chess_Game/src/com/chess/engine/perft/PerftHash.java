@@ -0,0 +1,51 @@
+package com.chess.engine.perft;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**This class remembers the node count of (position, depth) pairs for the
+parallel perft. All the worker threads share it without a lock: an entry
+is two longs, the data and the Zobrist key XOR the data. A reader only
+trusts an entry when the two words XOR back to the key it looks for, so an
+entry torn by two threads writing at once just reads as a miss.*/
+final class PerftHash {
+
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+
+    // Returned by 'probe' when the table does not hold the position
+    static final long MISS = -1L;
+
+    // Two longs per entry: key ^ data, then data
+    private final AtomicLongArray entries;
+    private final int mask;
+
+    // 'size' is rounded down to a power of two entries
+    PerftHash(final int size){
+        final int entryCount = Integer.highestOneBit(Math.max(size, 1));
+        this.entries = new AtomicLongArray(entryCount * 2);
+        this.mask = entryCount - 1;
+    }
+
+    long probe(final long key, final int depth){
+        final int index = ((int) key & this.mask) * 2;
+        final long data = this.entries.get(index + 1);
+        if((this.entries.get(index) ^ data) == key && (data & DEPTH_MASK) == depth){
+            return data >>> DEPTH_BITS;
+        }
+        return MISS;
+    }
+
+    // Always replaces, the deeper counts are found again quickly anyway
+    void store(final long key, final int depth, final long nodes){
+        final int index = ((int) key & this.mask) * 2;
+        final long data = (nodes << DEPTH_BITS) | depth;
+        this.entries.set(index + 1, data);
+        this.entries.set(index, key ^ data);
+    }
+
+    void clear(){
+        for(int i = 0; i < this.entries.length(); i++){
+            this.entries.set(i, 0L);
+        }
+    }
+}
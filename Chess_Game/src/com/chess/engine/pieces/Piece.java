@@ -1,11 +1,15 @@
 package com.chess.engine.pieces;
 
 import java.util.Collection;
+import java.util.List;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.PieceType;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.move.MajorAttackMove;
 import com.chess.engine.board.move.Move;
+import com.chess.engine.board.move.NormalMove;
 
 abstract public class Piece {
     protected final PieceType pieceType;
@@ -72,17 +76,37 @@ abstract public class Piece {
     abstract public Collection<Move> calculateLegalMoves(final Board board);
 
     abstract public Piece newPiece(Move move);
+
+    // Add a move to every tile in 'attacks' that is empty or holds an enemy piece 
+    protected void addAttackMoves(final Board board, final long attacks, final List<Move> legalMoves){
+        final long candidates = attacks & ~board.getAllianceBitBoard(this.pieceAlliance);
+
+        for(long remaining = candidates; remaining != 0; remaining = BitBoards.clearFirstSquare(remaining)){
+            final int candidateDestinationCoordinate = BitBoards.firstSquare(remaining);
+            final Piece pieceAtCandidateDestination = board.getPiece(candidateDestinationCoordinate);
+
+            if(pieceAtCandidateDestination == null){
+                legalMoves.add(new NormalMove(board, this, candidateDestinationCoordinate));
+            }
+            else{
+                legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, 
+                                                   pieceAtCandidateDestination));
+            }
+        }
+    }
+
     public int getPieceValue() {
         return this.pieceType.getPieceValue();
     }
 
     private int computeHashCode() {
-        final int prime = 31;
-        int result = 7; // arbitrary non-zero constant integer 
-        result += pieceType.hashCode();
-        result = prime * result + pieceAlliance.hashCode();
-        result = prime * piecePosition;
-        result = prime * result + (isFirstMove ? 1 : 0);
-        return result;
+        // Every field fits in its own bits, so no two different pieces share a hash code.
+        // Ordinals instead of the enum identity hashes keep the hash the same in every run.
+        final int fields = (pieceType.ordinal() << 8)
+                           | (pieceAlliance.ordinal() << 7)
+                           | (piecePosition << 1)
+                           | (isFirstMove ? 1 : 0);
+        // Spread the bits, hash tables index pieces by their low bits
+        return fields * 0x9E3779B9;
     }
 }
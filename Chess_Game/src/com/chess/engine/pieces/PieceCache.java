@@ -0,0 +1,107 @@
+package com.chess.engine.pieces;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.BitBoards;
+import com.chess.engine.board.BoardUtils;
+
+/**This class holds one shared instance of every piece the game can create.
+Pieces are immutable, so a piece of a given type and alliance on a given
+tile with the same flags can be reused by every board instead of being
+allocated again for every move.*/
+public final class PieceCache {
+
+    // Flag bits of a cached piece, only the King uses more than the first move flag
+    private static final int FIRST_MOVE = 1;
+    private static final int CASTLED = 2;
+    private static final int KING_SIDE_CASTLE = 4;
+    private static final int QUEEN_SIDE_CASTLE = 8;
+    private static final int NUM_KING_FLAGS = 16;
+    private static final int NUM_PIECE_FLAGS = 2;
+
+    // Indexed by [piece bitboard index][tile][flags]
+    private static final Piece[][][] PIECES = initPieces();
+
+    private PieceCache(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    public static Pawn getPawn(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove){
+        return (Pawn) get(PieceType.PAWN, pieceAlliance, piecePosition, isFirstMove);
+    }
+
+    public static Knight getKnight(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove){
+        return (Knight) get(PieceType.KNIGHT, pieceAlliance, piecePosition, isFirstMove);
+    }
+
+    public static Bishop getBishop(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove){
+        return (Bishop) get(PieceType.BISHOP, pieceAlliance, piecePosition, isFirstMove);
+    }
+
+    public static Rook getRook(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove){
+        return (Rook) get(PieceType.ROOK, pieceAlliance, piecePosition, isFirstMove);
+    }
+
+    public static Queen getQueen(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove){
+        return (Queen) get(PieceType.QUEEN, pieceAlliance, piecePosition, isFirstMove);
+    }
+
+    public static King getKing(final int piecePosition,
+                               final Alliance pieceAlliance,
+                               final boolean isFirstMove,
+                               final boolean isCastled,
+                               final boolean isKingSideCastleAllowed,
+                               final boolean isQueenSideCastleAllowed){
+        final int flags = (isFirstMove ? FIRST_MOVE : 0)
+                          | (isCastled ? CASTLED : 0)
+                          | (isKingSideCastleAllowed ? KING_SIDE_CASTLE : 0)
+                          | (isQueenSideCastleAllowed ? QUEEN_SIDE_CASTLE : 0);
+        return (King) PIECES[BitBoards.pieceIndex(PieceType.KING, pieceAlliance)][piecePosition][flags];
+    }
+
+    // A King returned from here has no castling rights
+    public static Piece get(final PieceType pieceType,
+                            final Alliance pieceAlliance,
+                            final int piecePosition,
+                            final boolean isFirstMove){
+        return PIECES[BitBoards.pieceIndex(pieceType, pieceAlliance)][piecePosition][isFirstMove ? FIRST_MOVE : 0];
+    }
+
+    private static Piece[][][] initPieces(){
+        final Piece[][][] pieces = new Piece[BitBoards.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES][];
+        for(final Alliance alliance : Alliance.values()){
+            for(final PieceType pieceType : PieceType.values()){
+                final Piece[][] typePieces = pieces[BitBoards.pieceIndex(pieceType, alliance)];
+                for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+                    typePieces[tile] = new Piece[pieceType.isKing() ? NUM_KING_FLAGS : NUM_PIECE_FLAGS];
+                    for(int flags = 0; flags < typePieces[tile].length; flags++){
+                        typePieces[tile][flags] = createPiece(pieceType, alliance, tile, flags);
+                    }
+                }
+            }
+        }
+        return pieces;
+    }
+
+    private static Piece createPiece(final PieceType pieceType, final Alliance alliance,
+                                     final int tile, final int flags){
+        final boolean isFirstMove = (flags & FIRST_MOVE) != 0;
+        switch(pieceType){
+            case PAWN:
+                return new Pawn(tile, alliance, isFirstMove);
+            case KNIGHT:
+                return new Knight(tile, alliance, isFirstMove);
+            case BISHOP:
+                return new Bishop(tile, alliance, isFirstMove);
+            case ROOK:
+                return new Rook(tile, alliance, isFirstMove);
+            case QUEEN:
+                return new Queen(tile, alliance, isFirstMove);
+            default:
+                return new King(tile, alliance, isFirstMove,
+                                (flags & CASTLED) != 0,
+                                (flags & KING_SIDE_CASTLE) != 0,
+                                (flags & QUEEN_SIDE_CASTLE) != 0);
+        }
+    }
+}
@@ -16,11 +16,8 @@ import com.google.common.collect.ImmutableList;
 
 public class BlackPlayer extends Player{
 
-    public BlackPlayer(final Board board, 
-                       final Collection<Move> whiteLegalMoves, 
-                       final Collection<Move> blackLegalMoves) {
-                        
-        super(board, blackLegalMoves, whiteLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -44,21 +41,21 @@ public class BlackPlayer extends Player{
     }
 
     @Override
-    public Collection<Move> calculateKingCastles(Collection<Move> opponentLegals) {
+    public Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
 
         // Initial King castling check 
         if(this.playerKing.isFirstMove() && !this.isInCheck()){
             // Black king side castling check if necessary tiles are empty 
-            if(!this.board.getTile(5).isTileOccupied() && 
-               !this.board.getTile(6).isTileOccupied()){
+            if(!this.board.isTileOccupied(5) && 
+               !this.board.isTileOccupied(6)){
                 
                 final Tile rookTileExpected = this.board.getTile(7);
                 if(rookTileExpected.isTileOccupied() && 
                    rookTileExpected.getPiece().isFirstMove()){
 
-                    if(Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                       Player.calculateAttacksOnTile(6, opponentLegals).isEmpty() &&
+                    if(!this.isTileAttacked(5) &&
+                       !this.isTileAttacked(6) &&
                        // Is the piece on tile 7 actually a Rook?
                        rookTileExpected.getPiece().getPieceType().isRook()){ 
                         
@@ -73,15 +70,15 @@ public class BlackPlayer extends Player{
             }
 
             // Black queen side castling check if necessary tiles are empty
-            if(!this.board.getTile(1).isTileOccupied() && 
-               !this.board.getTile(2).isTileOccupied() &&
-               !this.board.getTile(3).isTileOccupied()){
+            if(!this.board.isTileOccupied(1) && 
+               !this.board.isTileOccupied(2) &&
+               !this.board.isTileOccupied(3)){
                 
                 final Tile rookTileExpected = this.board.getTile(0);
                 if(rookTileExpected.isTileOccupied() && rookTileExpected.getPiece().isFirstMove()){
-                    if(Player.calculateAttacksOnTile(1, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
+                    // Only the tiles the King crosses must be safe, tile 1 just has to be empty
+                    if(!this.isTileAttacked(3) &&
+                        !this.isTileAttacked(2) &&
                         // Is the piece on tile 0 actually a Rook?
                         rookTileExpected.getPiece().getPieceType().isRook()){
 
@@ -1,13 +1,18 @@
 package com.chess.engine.player;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.MoveStatus;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.LegalMoveGenerator;
+import com.chess.engine.board.SquareAttacks;
+import com.chess.engine.board.move.EncodedMove;
 import com.chess.engine.board.move.Move;
+import com.chess.engine.board.move.MoveIndex;
+import com.chess.engine.board.move.MoveList;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableList;
@@ -16,54 +21,52 @@ import com.google.common.collect.ImmutableList.Builder;
 abstract public class Player {
     protected final Board board;
     protected final King playerKing;
-    private final Collection<Move> legalMoves;
-    private final boolean isInCheck;
-
-    Player(final Board board,
-           final Collection<Move> legalMoves,
-           final Collection<Move> opponentMoves){
-
+    // Calculated on first access and then cached, see 'getLegalMoves' and 'isInCheck'
+    private Collection<Move> legalMoves;
+    private MoveIndex legalMoveIndex;
+    private Boolean isInCheck;
+    // Whether any move keeps the King safe, decides checkmate and stalemate
+    private Boolean hasEscapeMoves;
+    // Moves that do not leave the King in check, see 'getStrictlyLegalMoves'
+    private MoveList strictlyLegalMoves;
+
+    Player(final Board board){
         this.board = board;
         this.playerKing = findKing();
-
-        Builder<Move> builder = ImmutableList.builder();
-        builder.addAll(legalMoves);
-        builder.addAll(this.calculateKingCastles(opponentMoves)); // Add the castling moves
-        this.legalMoves = builder.build(); 
-
-        // False, if there are no attacks currently on the chess tile containing the King piece
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
     }
 
-    protected static Collection<Move> calculateAttacksOnTile(Integer piecePosition, Collection<Move> enemyMoves) {
-        final List<Move> attackMoves = new ArrayList<>(); 
-
-        for(final Move move : enemyMoves){
-            if(piecePosition == move.getDestinationCoordinate()){
-                attackMoves.add(move);
-            }
-        }
-        return ImmutableList.copyOf(attackMoves);
+    // Is the tile attacked by any piece of the opponent? Looks outward from the tile
+    // with the attack tables instead of generating the opponent moves.
+    protected boolean isTileAttacked(final int tileCoordinate) {
+        return SquareAttacks.isSquareAttacked(this.board, tileCoordinate,
+                                              getAlliance().isWhite() ? Alliance.BLACK : Alliance.WHITE);
     }
 
     private King findKing() {
-        for(final Piece piece : getActivePieces()){
-            if(piece.getPieceType().isKing()){
-                return (King) piece;
-            }
+        final long kingBitBoard = this.board.getPieceBitBoard(PieceType.KING, getAlliance());
+        if(kingBitBoard != 0){
+            return (King) this.board.getPiece(BitBoards.firstSquare(kingBitBoard));
         }
         throw new RuntimeException("Unable to find King on the board! Not a valid board.");
     }
 
     public boolean isMoveLegal(final Move move){
-        return this.legalMoves.contains(move);
+        // One lookup by tile coordinates and a single 'equals', instead of a scan over the legal moves
+        if(this.legalMoveIndex == null){
+            this.legalMoveIndex = new MoveIndex(getLegalMoves());
+        }
+        return this.legalMoveIndex.contains(move);
     }
 
     public boolean isInCheck(){
+        if(this.isInCheck == null){
+            // False, if there are no attacks currently on the chess tile containing the King piece
+            this.isInCheck = isTileAttacked(this.playerKing.getPiecePosition());
+        }
         return this.isInCheck; 
     }
     public boolean isInCheckMate(){
-        return this.isInCheck && !hasEscapeMoves(); 
+        return isInCheck() && !hasEscapeMoves(); 
     }
 
     public boolean isInStaleMate(){
@@ -72,18 +75,23 @@ abstract public class Player {
     }
 
     private boolean hasEscapeMoves() {
-        for(final Move move:this.legalMoves){
-            // Build a theoretical move for the King to escape 
-            final MoveTransition transition = makeMove(move); 
-
-            // Is the theoretical move valid and executable ?
-            if(transition.getMoveStatus().isDone()){
-                // There is a move such that the King piece can 
-                // escape the opponent player attack. 
-                return true; 
-            }
+        // There is a move such that the King piece can 
+        // escape the opponent player attack. Calculated once per board,
+        // stopping at the first legal move unless all of them are known already.
+        if(this.hasEscapeMoves == null){
+            this.hasEscapeMoves = this.strictlyLegalMoves != null ? !this.strictlyLegalMoves.isEmpty()
+                                                                  : LegalMoveGenerator.hasLegalMove(this.board, getAlliance());
+        }
+        return this.hasEscapeMoves;
+    }
+
+    // The pins and checks are known up front, so no theoretical boards are built
+    private MoveList getStrictlyLegalMoves() {
+        if(this.strictlyLegalMoves == null){
+            this.strictlyLegalMoves = new MoveList();
+            LegalMoveGenerator.generateLegalMoves(this.board, getAlliance(), this.strictlyLegalMoves);
         }
-        return false;
+        return this.strictlyLegalMoves;
     }
 
     public boolean isCastled(){
@@ -95,22 +103,23 @@ abstract public class Player {
             // Return a move transition with the OLD board 
             return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
-        // Create new board after the move 
-        final Board transitionBoard = move.execute(); // Note: current player switches
-                                                                                                          // Get the opponent due to player switch after move execution  
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                                                                           transitionBoard.currentPlayer().getLegalMoves());
-        // Can't make a move that exposes your King to check                                              // The new player attacks on the old player
-        if(!kingAttacks.isEmpty()){
+        // Can't make a move that exposes your King to check 
+        if(!getStrictlyLegalMoves().contains(EncodedMove.fromMove(move))){
             // Return a move transition with the OLD board
             return new MoveTransition(this.board, move, MoveStatus.PLAYER_IN_CHECK);
         }
 
         // Return a move transition with a NEW board
-        return new MoveTransition(transitionBoard, move, MoveStatus.DONE); 
+        return new MoveTransition(move.execute(), move, MoveStatus.DONE); 
     }
 
     public Collection<Move> getLegalMoves() {
+        if(this.legalMoves == null){
+            Builder<Move> builder = ImmutableList.builder();
+            builder.addAll(this.board.getPieceLegalMoves(getAlliance()));
+            builder.addAll(this.calculateKingCastles()); // Add the castling moves
+            this.legalMoves = builder.build(); 
+        }
         return this.legalMoves;
     }
 
@@ -130,5 +139,5 @@ abstract public class Player {
     abstract public Alliance getAlliance();
     abstract public Player getOpponent();
     
-    public abstract Collection<Move> calculateKingCastles(Collection<Move> opponentLegals);
+    public abstract Collection<Move> calculateKingCastles();
 }
@@ -16,10 +16,8 @@ import com.google.common.collect.ImmutableList;
 
 public class WhitePlayer extends Player{
 
-    public WhitePlayer(final Board board, 
-                       final Collection<Move> whiteLegalMoves, 
-                       final Collection<Move> blackLegalMoves) {
-        super(board, whiteLegalMoves, blackLegalMoves);
+    public WhitePlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -43,21 +41,21 @@ public class WhitePlayer extends Player{
     }
 
     @Override
-    public Collection<Move> calculateKingCastles(Collection<Move> opponentLegals) {
+    public Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
 
         // Initial King castling check 
         if(this.playerKing.isFirstMove() && !this.isInCheck()){
             // White king side castling check if necessary tiles are empty 
-            if(!this.board.getTile(61).isTileOccupied() && 
-               !this.board.getTile(62).isTileOccupied()){
+            if(!this.board.isTileOccupied(61) && 
+               !this.board.isTileOccupied(62)){
                 
                 final Tile rookTileExpected = this.board.getTile(63);
                 if(rookTileExpected.isTileOccupied() && 
                    rookTileExpected.getPiece().isFirstMove()){
 
-                    if(Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() &&
-                       Player.calculateAttacksOnTile(62, opponentLegals).isEmpty() &&
+                    if(!this.isTileAttacked(61) &&
+                       !this.isTileAttacked(62) &&
                        // Is the piece on tile 63 actually a Rook?
                        rookTileExpected.getPiece().getPieceType().isRook()){ 
                         
@@ -72,15 +70,15 @@ public class WhitePlayer extends Player{
             }
 
             // White queen side castling check if necessary tiles are empty
-            if(!this.board.getTile(59).isTileOccupied() && 
-               !this.board.getTile(58).isTileOccupied() &&
-               !this.board.getTile(57).isTileOccupied()){
+            if(!this.board.isTileOccupied(59) && 
+               !this.board.isTileOccupied(58) &&
+               !this.board.isTileOccupied(57)){
                 
                 final Tile rookTileExpected = this.board.getTile(56);
                 if(rookTileExpected.isTileOccupied() && rookTileExpected.getPiece().isFirstMove()){
-                    if(Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(57, opponentLegals).isEmpty() &&
+                    // Only the tiles the King crosses must be safe, tile 57 just has to be empty
+                    if(!this.isTileAttacked(59) &&
+                        !this.isTileAttacked(58) &&
                         // Is the piece on tile 56 actually a Rook?
                         rookTileExpected.getPiece().getPieceType().isRook()){
 
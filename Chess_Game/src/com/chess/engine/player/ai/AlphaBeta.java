@@ -0,0 +1,451 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.Move;
+import com.chess.engine.board.move.MoveList;
+
+/**This class searches the same tree as 'MiniMax', in fail-soft negamax form
+with alpha-beta pruning, and picks the same move while visiting far fewer nodes.*/
+public class AlphaBeta implements MoveStrategy{
+
+    // Larger than any evaluation, and safe to negate
+    protected static final int INFINITY = Integer.MAX_VALUE;
+    // 'shouldStop' is asked every this many nodes + 1
+    private static final long STOP_CHECK_INTERVAL = 1023;
+    // What a capture may gain on top of the captured piece, from the position changing
+    private static final int DELTA_MARGIN = 200;
+    // Null move pruning from this depth on, with a larger reduction from the deep depth on
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_DEEP_DEPTH = 6;
+    // Late move reductions from this depth on, for the moves after the first ones
+    private static final int REDUCTION_MIN_DEPTH = 3;
+    private static final int FULL_DEPTH_MOVES = 3;
+    private static final int[][] LATE_MOVE_REDUCTIONS = initLateMoveReductions(64, MoveList.MAX_MOVES);
+    // Futility pruning up to this depth, with this margin per ply
+    private static final int FUTILITY_DEPTH = 2;
+    private static final int FUTILITY_MARGIN = 200;
+
+    private final BoardEvaluator boardEvaluator;
+    protected final int searchDepth;
+    // May be null, then every node is searched. Cut-offs from entries of other move orders
+    // can change the chosen move, so only without a table the search equals 'MiniMax'.
+    private final TranspositionTable transpositionTable;
+    // Move picker for every search depth, reused between the nodes
+    private MovePicker[] movePickers = new MovePicker[0];
+    // Move picker for every quiescence ply
+    private MovePicker[] quiescencePickers = new MovePicker[0];
+    private final MoveOrdering moveOrdering = new MoveOrdering();
+    private boolean isMoveOrderingEnabled = true;
+    private boolean isQuiescenceEnabled;
+    // None by default, a selective search can miss the move 'MiniMax' finds
+    private SearchSelectivity selectivity = SearchSelectivity.NONE;
+    private final SearchStatistics statistics = new SearchStatistics();
+    private long nodeCount;
+    // Set once 'shouldStop' says so, the search then unwinds without a result
+    private boolean isStopped;
+    // Score of the move returned by the last 'searchRoot', for the player to move
+    private int rootScore;
+
+    public AlphaBeta(final int depth){
+        this(depth, null);
+    }
+
+    public AlphaBeta(final int depth, final TranspositionTable transpositionTable){
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.searchDepth = depth;
+        this.transpositionTable = transpositionTable;
+    }
+
+    @Override
+    public String toString(){
+        return "AlphaBeta";
+    }
+
+    @Override
+    public long getNodeCount(){
+        return this.nodeCount;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        System.out.println(board.currentPlayer() + " CALCULATING MOVES with depth = "
+                           + this.searchDepth);
+
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        startSearch();
+        final int bestMove = searchRoot(position, this.searchDepth, EncodedMove.NULL_MOVE);
+        System.out.println(this + " searched " + this.nodeCount + " nodes in "
+                           + (System.currentTimeMillis() - startTime) + " ms");
+        if(bestMove == EncodedMove.NULL_MOVE){
+            return null;
+        }
+
+        // Hand back the board's own move object for the chosen move
+        return EncodedMove.toMove(board, bestMove);
+    }
+
+    public TranspositionTable getTranspositionTable(){
+        return this.transpositionTable;
+    }
+
+    public SearchStatistics getStatistics(){
+        return this.statistics;
+    }
+
+    // Orders the moves below the root, the root keeps the generator order that decides between
+    // equally good moves. Without it every node searches in the order of the move generator.
+    public void setMoveOrderingEnabled(final boolean isMoveOrderingEnabled){
+        this.isMoveOrderingEnabled = isMoveOrderingEnabled;
+    }
+
+    public boolean isMoveOrderingEnabled(){
+        return this.isMoveOrderingEnabled;
+    }
+
+    // Leaves are searched on through their captures and promotions instead of evaluated as they
+    // stand. It changes the scores, so it is off by default to keep 'AlphaBeta' equal to 'MiniMax'.
+    public void setQuiescenceEnabled(final boolean isQuiescenceEnabled){
+        this.isQuiescenceEnabled = isQuiescenceEnabled;
+    }
+
+    public boolean isQuiescenceEnabled(){
+        return this.isQuiescenceEnabled;
+    }
+
+    public void setSelectivity(final SearchSelectivity selectivity){
+        this.selectivity = selectivity;
+    }
+
+    public SearchSelectivity getSelectivity(){
+        return this.selectivity;
+    }
+
+    // Resets the node count and the stop flag before a new search
+    protected void startSearch(){
+        resetSearch();
+        this.moveOrdering.ageHistory();
+        if(this.transpositionTable != null){
+            this.transpositionTable.newSearch();
+        }
+    }
+
+    // For a search that joins one already started on the same table
+    void resetSearch(){
+        this.nodeCount = 0;
+        this.isStopped = false;
+        this.statistics.reset();
+    }
+
+    // Asked now and then during the search, a subclass can stop it on a time or node budget
+    protected boolean shouldStop(){
+        return false;
+    }
+
+    protected boolean isStopped(){
+        return this.isStopped;
+    }
+
+    protected int getRootScore(){
+        return this.rootScore;
+    }
+
+    // Best move 'depth' plies deep, 'firstMove' is searched first if it is legal.
+    // Returns 'EncodedMove.NULL_MOVE' when there is no legal move or the search was stopped.
+    protected int searchRoot(final SearchPosition position, final int depth, final int firstMove){
+        this.movePickers = ensurePickers(this.movePickers, depth);
+        int bestMove = EncodedMove.NULL_MOVE;
+        int bestScore = -INFINITY;
+        final MovePicker movePicker = this.movePickers[depth];
+        final int hashMove = firstMove == EncodedMove.NULL_MOVE ? probeMove(position) : firstMove;
+        movePicker.init(position, hashMove, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE);
+        for(int move = movePicker.next(); move != EncodedMove.NULL_MOVE; move = movePicker.next()){
+            // Only a move that beats the best one so far needs an exact score
+            final int score = searchRootMove(position, depth, move, bestScore);
+            if(this.isStopped){
+                return EncodedMove.NULL_MOVE;
+            }
+
+            // The first of equally good moves is kept, like 'MiniMax' does
+            if(score > bestScore || bestMove == EncodedMove.NULL_MOVE){
+                bestScore = score;
+                bestMove = move;
+            }
+        }
+        this.rootScore = bestScore;
+        if(this.transpositionTable != null && bestMove != EncodedMove.NULL_MOVE){
+            this.transpositionTable.store(position.getZobristKey(), depth, TranspositionTable.EXACT, bestScore, bestMove);
+        }
+        return bestMove;
+    }
+
+    // Score of the root 'move' for the player to move. It is exact if it is above 'alpha',
+    // otherwise it is only known not to be.
+    protected int searchRootMove(final SearchPosition position, final int depth, final int move, final int alpha){
+        this.movePickers = ensurePickers(this.movePickers, depth);
+        position.makeMove(move);
+        final int score = -negamax(position, depth - 1, 1, -INFINITY, -alpha, true);
+        position.unmakeMove();
+        return score;
+    }
+
+    // Score of the position for the player to move. 'isNullMoveAllowed' is false right after
+    // a null move, two passes in a row would only search the same position shallower.
+    private int negamax(final SearchPosition position, final int depth, final int ply, int alpha, final int beta,
+                        final boolean isNullMoveAllowed){
+        if(depth == 0 && this.isQuiescenceEnabled){
+            return quiescence(position, 0, alpha, beta);
+        }
+        if(countNode()){
+            return 0;
+        }
+        if(depth == 0){
+            return evaluate(position, depth);
+        }
+
+        final long key = position.getZobristKey();
+        int hashMove = EncodedMove.NULL_MOVE;
+        if(this.transpositionTable != null){
+            final long entry = this.transpositionTable.probe(key);
+            if(entry != TranspositionTable.NO_ENTRY){
+                hashMove = TranspositionTable.move(entry);
+                if(TranspositionTable.depth(entry) >= depth && isCutoff(entry, alpha, beta)){
+                    return TranspositionTable.score(entry);
+                }
+            }
+        }
+
+        final boolean isInCheck = this.selectivity.isSelective() && position.isInCheck(position.getSideToMove());
+        final boolean canPrune = !isInCheck && (this.selectivity.isNullMovePruningEnabled()
+                                                || this.selectivity.isFutilityPruningEnabled());
+        // The evaluation as the position stands, only needed for pruning
+        final int staticScore = canPrune ? evaluate(position, depth) : 0;
+        final boolean isFrontier = canPrune && this.selectivity.isFutilityPruningEnabled() && depth <= FUTILITY_DEPTH;
+
+        // Reverse futility: even a margin below the evaluation the opponent will not allow this
+        if(isFrontier && staticScore - FUTILITY_MARGIN * depth >= beta){
+            this.statistics.recordFutilityPrune();
+            return staticScore - FUTILITY_MARGIN * depth;
+        }
+
+        // Null move: if passing still fails high in a shallower search, a real move will too
+        if(canPrune && this.selectivity.isNullMovePruningEnabled() && isNullMoveAllowed && depth >= NULL_MOVE_MIN_DEPTH
+           && staticScore >= beta && hasPieces(position)){
+            final int reduction = depth >= NULL_MOVE_DEEP_DEPTH ? 3 : 2;
+            position.makeNullMove();
+            final int score = -negamax(position, Math.max(depth - 1 - reduction, 0), ply + 1, -beta, -beta + 1, false);
+            position.unmakeNullMove();
+            if(this.isStopped){
+                return 0;
+            }
+            if(score >= beta){
+                this.statistics.recordNullMoveCutoff();
+                return score;
+            }
+        }
+
+        final MovePicker movePicker = this.movePickers[depth];
+        if(this.isMoveOrderingEnabled){
+            movePicker.init(position, hashMove, this.moveOrdering, ply);
+        }
+        else{
+            movePicker.init(position, hashMove, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE);
+        }
+        int move = movePicker.next();
+        // No legal moves left means checkmate or stalemate
+        if(move == EncodedMove.NULL_MOVE){
+            return evaluate(position, depth);
+        }
+
+        // Futility: a quiet move will not make up the distance to alpha this close to the leaves
+        final boolean isFutile = isFrontier && staticScore + FUTILITY_MARGIN * depth <= alpha;
+        final boolean canReduce = this.selectivity.isLateMoveReductionEnabled() && !isInCheck && depth >= REDUCTION_MIN_DEPTH;
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = EncodedMove.NULL_MOVE;
+        int movesSearched = 0;
+        for(; move != EncodedMove.NULL_MOVE; move = movePicker.next()){
+            final boolean isQuiet = !EncodedMove.isCapture(move) && !EncodedMove.isPromotion(move);
+            final boolean isLateMove = canReduce && isQuiet && movesSearched >= FULL_DEPTH_MOVES;
+            position.makeMove(move);
+            // The evaluation scores a check so high that moves giving one are always searched
+            final boolean givesCheck = (isFutile || isLateMove) && isQuiet && position.isInCheck(position.getSideToMove());
+            if(isFutile && isQuiet && movesSearched > 0 && !givesCheck){
+                position.unmakeMove();
+                this.statistics.recordFutilityPrune();
+                bestScore = Math.max(bestScore, staticScore + FUTILITY_MARGIN * depth);
+                continue;
+            }
+
+            movesSearched++;
+            int score;
+            if(isLateMove && !givesCheck){
+                final int reduction = LATE_MOVE_REDUCTIONS[Math.min(depth, LATE_MOVE_REDUCTIONS.length - 1)][movesSearched];
+                this.statistics.recordLateMoveReduction();
+                score = -negamax(position, Math.max(depth - 1 - reduction, 1), ply + 1, -alpha - 1, -alpha, true);
+                // Better than expected, so it gets the full search after all
+                if(score > alpha && !this.isStopped){
+                    score = -negamax(position, depth - 1, ply + 1, -beta, -alpha, true);
+                }
+            }
+            else{
+                score = -negamax(position, depth - 1, ply + 1, -beta, -alpha, true);
+            }
+            position.unmakeMove();
+            if(this.isStopped){
+                return 0;
+            }
+
+            if(score > bestScore){
+                bestScore = score;
+                bestMove = move;
+                if(score > alpha){
+                    alpha = score;
+                    // The opponent will not allow this line, skip the other moves
+                    if(alpha >= beta){
+                        this.statistics.recordCutoff(movesSearched == 1);
+                        if(this.isMoveOrderingEnabled && isQuiet){
+                            this.moveOrdering.recordCutoff(position.getSideToMove(), move, ply, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        if(this.transpositionTable != null){
+            // A fail-soft score outside the window only bounds the true score
+            final int bound = bestScore <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                              : bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                              : TranspositionTable.EXACT;
+            // Below alpha every move failed low, none of them is known to be best
+            this.transpositionTable.store(key, depth, bound, bestScore,
+                                          bound == TranspositionTable.UPPER_BOUND ? EncodedMove.NULL_MOVE : bestMove);
+        }
+        return bestScore;
+    }
+
+    // Score of the position for the player to move once the captures are played out
+    private int quiescence(final SearchPosition position, final int quiescencePly, int alpha, final int beta){
+        if(countNode()){
+            return 0;
+        }
+        // The player to move does not have to capture anything
+        final int standPat = evaluate(position, 0);
+        if(standPat >= beta){
+            return standPat;
+        }
+        // Not even winning a queen gets close to alpha
+        if(standPat + PieceType.QUEEN.getPieceValue() + DELTA_MARGIN <= alpha){
+            return standPat;
+        }
+        if(standPat > alpha){
+            alpha = standPat;
+        }
+
+        this.quiescencePickers = ensurePickers(this.quiescencePickers, quiescencePly);
+        final MovePicker movePicker = this.quiescencePickers[quiescencePly];
+        // The captures that lose material are left out, with or without move ordering
+        movePicker.initNoisy(position, this.isMoveOrderingEnabled ? this.moveOrdering : null, true);
+        int bestScore = standPat;
+        for(int move = movePicker.next(); move != EncodedMove.NULL_MOVE; move = movePicker.next()){
+            // Delta pruning, promotions can gain too much to be skipped
+            if(!EncodedMove.isPromotion(move)
+               && standPat + EncodedMove.capturedType(move).getPieceValue() + DELTA_MARGIN <= alpha){
+                continue;
+            }
+            position.makeMove(move);
+            final int score = -quiescence(position, quiescencePly + 1, -beta, -alpha);
+            position.unmakeMove();
+            if(this.isStopped){
+                return 0;
+            }
+
+            if(score > bestScore){
+                bestScore = score;
+                if(score > alpha){
+                    alpha = score;
+                    if(alpha >= beta){
+                        break;
+                    }
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    // Counts a node, and returns whether the search is stopped
+    private boolean countNode(){
+        this.nodeCount++;
+        if((this.nodeCount & STOP_CHECK_INTERVAL) == 0 && shouldStop()){
+            this.isStopped = true;
+        }
+        return this.isStopped;
+    }
+
+    // Best move of the position stored in the table, or 'EncodedMove.NULL_MOVE'
+    private int probeMove(final SearchPosition position){
+        if(this.transpositionTable == null){
+            return EncodedMove.NULL_MOVE;
+        }
+        return TranspositionTable.move(this.transpositionTable.probe(position.getZobristKey()));
+    }
+
+    // Whether the stored score settles the node for the window
+    private static boolean isCutoff(final long entry, final int alpha, final int beta){
+        final int score = TranspositionTable.score(entry);
+        switch(TranspositionTable.bound(entry)){
+            case TranspositionTable.EXACT:
+                return true;
+            case TranspositionTable.LOWER_BOUND:
+                return score >= beta;
+            case TranspositionTable.UPPER_BOUND:
+                return score <= alpha;
+            default:
+                return false;
+        }
+    }
+
+    // Whether the player to move has a piece besides the king and the pawns
+    private static boolean hasPieces(final SearchPosition position){
+        final Alliance alliance = position.getSideToMove();
+        return (position.getAllianceBitBoard(alliance)
+                & ~position.getPieceBitBoard(PieceType.PAWN, alliance)
+                & ~position.getPieceBitBoard(PieceType.KING, alliance)) != 0;
+    }
+
+    // Plies a late move is reduced by, growing with the depth and with the moves searched before it
+    private static int[][] initLateMoveReductions(final int depths, final int moves){
+        final int[][] reductions = new int[depths][moves + 1];
+        for(int depth = 1; depth < depths; depth++){
+            for(int move = 1; move <= moves; move++){
+                reductions[depth][move] = Math.max(1, (int) (0.5 + Math.log(depth) * Math.log(move) / 2));
+            }
+        }
+        return reductions;
+    }
+
+    // 'pickers', grown to hold 'index' if it does not
+    private static MovePicker[] ensurePickers(final MovePicker[] pickers, final int index){
+        if(index < pickers.length){
+            return pickers;
+        }
+        final MovePicker[] grownPickers = Arrays.copyOf(pickers, index + 1);
+        for(int i = pickers.length; i <= index; i++){
+            grownPickers[i] = new MovePicker();
+        }
+        return grownPickers;
+    }
+
+    // The evaluator scores for white
+    private int evaluate(final SearchPosition position, final int depth){
+        final int score = this.boardEvaluator.evaluate(position, depth);
+        return position.getSideToMove().isWhite() ? score : -score;
+    }
+}
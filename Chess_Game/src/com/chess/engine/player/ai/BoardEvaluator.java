@@ -1,7 +1,9 @@
 package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchPosition;
 
 public interface BoardEvaluator {
     int evaluate(Board board, int depth);
+    int evaluate(SearchPosition position, int depth);
 }
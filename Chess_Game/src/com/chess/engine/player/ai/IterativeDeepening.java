@@ -0,0 +1,99 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.LegalMoveGenerator;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.Move;
+import com.chess.engine.board.move.MoveList;
+
+/**This class runs the 'AlphaBeta' search one ply deeper at a time until a
+time or node budget runs out, and plays the move of the last completed iteration.*/
+public class IterativeDeepening extends AlphaBeta{
+
+    // No budget
+    public static final long UNLIMITED = 0;
+    public static final int DEFAULT_HASH_SIZE_MB = 16;
+
+    private final long moveTimeMillis;
+    private final long maxNodes;
+    private long deadline;
+    private int completedDepth;
+
+    // Searches up to 'maxDepth' plies, or until 'moveTimeMillis' have passed
+    public IterativeDeepening(final int maxDepth, final long moveTimeMillis){
+        this(maxDepth, moveTimeMillis, UNLIMITED);
+    }
+
+    public IterativeDeepening(final int maxDepth, final long moveTimeMillis, final long maxNodes){
+        this(maxDepth, moveTimeMillis, maxNodes, new TranspositionTable(DEFAULT_HASH_SIZE_MB));
+    }
+
+    public IterativeDeepening(final int maxDepth, final long moveTimeMillis, final long maxNodes,
+                              final TranspositionTable transpositionTable){
+        // The iterations share the table, the best move of one is searched first in the next
+        super(Math.max(maxDepth, 1), transpositionTable);
+        setQuiescenceEnabled(true);
+        setSelectivity(SearchSelectivity.ALL);
+        this.moveTimeMillis = moveTimeMillis;
+        this.maxNodes = maxNodes;
+    }
+
+    @Override
+    public String toString(){
+        return "IterativeDeepening";
+    }
+
+    // Depth of the last iteration that finished within the budget
+    public int getCompletedDepth(){
+        return this.completedDepth;
+    }
+
+    @Override
+    public Move execute(final Board board){
+        final long startTime = System.currentTimeMillis();
+        this.deadline = this.moveTimeMillis == UNLIMITED ? Long.MAX_VALUE : startTime + this.moveTimeMillis;
+        System.out.println(board.currentPlayer() + " CALCULATING MOVES with depth = " + this.searchDepth
+                           + (this.moveTimeMillis == UNLIMITED ? "" : " and " + this.moveTimeMillis + " ms"));
+
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        startSearch();
+        this.completedDepth = 0;
+        int bestMove = EncodedMove.NULL_MOVE;
+        for(int depth = 1; depth <= this.searchDepth; depth++){
+            final int move = searchRoot(position, depth, bestMove);
+            // The budget is a hard deadline, an iteration that runs past it is thrown away
+            if(isStopped() || move == EncodedMove.NULL_MOVE){
+                break;
+            }
+            bestMove = move;
+            this.completedDepth = depth;
+            getStatistics().recordDepth(depth, getNodeCount());
+            System.out.println("depth " + depth + ": " + EncodedMove.toString(bestMove) + " score " + getRootScore()
+                               + " nodes " + getNodeCount() + " time " + (System.currentTimeMillis() - startTime) + " ms"
+                               + (getTranspositionTable() == null ? "" : " hashfull " + getTranspositionTable().hashfull())
+                               + ", " + getStatistics());
+
+            // The next iteration takes longer than all the ones before it, don't start one that can't finish
+            if(this.moveTimeMillis != UNLIMITED && System.currentTimeMillis() - startTime > this.moveTimeMillis / 2){
+                break;
+            }
+        }
+
+        // Not even the first iteration finished, play any legal move
+        if(bestMove == EncodedMove.NULL_MOVE){
+            final MoveList moves = new MoveList();
+            if(LegalMoveGenerator.generateLegalMoves(position, moves) == 0){
+                return null;
+            }
+            bestMove = moves.get(0);
+        }
+        return EncodedMove.toMove(board, bestMove);
+    }
+
+    @Override
+    protected boolean shouldStop(){
+        return (this.maxNodes != UNLIMITED && getNodeCount() >= this.maxNodes)
+               || System.currentTimeMillis() >= this.deadline;
+    }
+}
@@ -0,0 +1,174 @@
+package com.chess.engine.player.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.Move;
+import com.chess.engine.board.move.MoveList;
+import com.chess.pgn.FenUtils;
+
+/**This class runs 'IterativeDeepening' while helper threads search the same
+root, sharing only the 'TranspositionTable' the main search then profits from.*/
+public class LazySMP extends IterativeDeepening{
+
+    private static final int DEFAULT_BENCHMARK_DEPTH = 5;
+    private static final int BENCHMARK_HASH_SIZE_MB = 64;
+    private static final int[] BENCHMARK_THREADS = {1, 2, 4, 8, 16};
+
+    private final int threadCount;
+    private final AtomicBoolean stopHelpers = new AtomicBoolean();
+    private final List<Helper> helpers = new ArrayList<>();
+    private final List<Thread> helperThreads = new ArrayList<>();
+    // Root of the search being run, copied for every helper
+    private SearchPosition rootPosition;
+
+    // 'threadCount' includes the calling thread, 1 searches like 'IterativeDeepening'
+    public LazySMP(final int maxDepth, final long moveTimeMillis, final int threadCount){
+        this(maxDepth, moveTimeMillis, UNLIMITED, threadCount, new TranspositionTable(DEFAULT_HASH_SIZE_MB));
+    }
+
+    public LazySMP(final int maxDepth, final long moveTimeMillis, final long maxNodes, final int threadCount,
+                   final TranspositionTable transpositionTable){
+        super(maxDepth, moveTimeMillis, maxNodes, transpositionTable);
+        this.threadCount = Math.max(threadCount, 1);
+        for(int i = 1; i < this.threadCount; i++){
+            this.helpers.add(new Helper(i, this.searchDepth + (i & 1), transpositionTable, this.stopHelpers));
+        }
+    }
+
+    // Prints the time to a depth with 1, 2, 4, 8 and 16 threads, for a FEN and a depth
+    public static void main(final String[] args){
+        final Board board = FenUtils.createGameFromArgs(args);
+        final int depth = FenUtils.depthFromArgs(args, DEFAULT_BENCHMARK_DEPTH);
+
+        // Untimed, so the first timed run is not the one that warms up the JIT
+        new LazySMP(depth, UNLIMITED, 1).execute(board);
+
+        final long[] times = new long[BENCHMARK_THREADS.length];
+        final long[] nodes = new long[BENCHMARK_THREADS.length];
+        for(int i = 0; i < BENCHMARK_THREADS.length; i++){
+            // A fresh table for every run, so no run profits from the one before
+            final LazySMP search = new LazySMP(depth, UNLIMITED, UNLIMITED, BENCHMARK_THREADS[i],
+                                               new TranspositionTable(BENCHMARK_HASH_SIZE_MB));
+            final long start = System.nanoTime();
+            search.execute(board);
+            times[i] = Math.max(System.nanoTime() - start, 1);
+            nodes[i] = search.getTotalNodeCount();
+        }
+
+        System.out.println("Time to depth " + depth + ":");
+        for(int i = 0; i < BENCHMARK_THREADS.length; i++){
+            System.out.printf("%2d threads: %8.3f s, speedup %.2f, %d nodes%n", BENCHMARK_THREADS[i],
+                              times[i] / 1e9, (double) times[0] / times[i], nodes[i]);
+        }
+    }
+
+    @Override
+    public String toString(){
+        return "LazySMP";
+    }
+
+    public int getThreadCount(){
+        return this.threadCount;
+    }
+
+    // Nodes of the main search and all the helpers in the last search
+    public long getTotalNodeCount(){
+        long nodes = getNodeCount();
+        for(final Helper helper : this.helpers){
+            nodes += helper.getNodeCount();
+        }
+        return nodes;
+    }
+
+    @Override
+    public Move execute(final Board board){
+        this.rootPosition = SearchPosition.fromBoard(board);
+        try{
+            return super.execute(board);
+        }
+        finally{
+            stopHelpers();
+        }
+    }
+
+    // The helpers start once the table has moved on to the new search
+    @Override
+    protected void startSearch(){
+        super.startSearch();
+        this.stopHelpers.set(false);
+        for(final Helper helper : this.helpers){
+            // Scores in the shared table only agree when every thread searches alike
+            helper.setMoveOrderingEnabled(isMoveOrderingEnabled());
+            helper.setQuiescenceEnabled(isQuiescenceEnabled());
+            helper.setSelectivity(getSelectivity());
+            helper.setRoot(this.rootPosition.copy());
+            final Thread thread = new Thread(helper, "LazySMP helper " + helper.id);
+            thread.setDaemon(true);
+            this.helperThreads.add(thread);
+            thread.start();
+        }
+    }
+
+    private void stopHelpers(){
+        this.stopHelpers.set(true);
+        for(final Thread thread : this.helperThreads){
+            try{
+                thread.join();
+            }
+            catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        this.helperThreads.clear();
+    }
+
+    // Deepens on its own until it reaches its depth or the main search is done, its moves are never played.
+    // Every other helper searches one ply deeper and every helper starts from another root move, so they
+    // don't all fill the table with the same subtrees.
+    private static final class Helper extends AlphaBeta implements Runnable{
+        private final int id;
+        private final AtomicBoolean stop;
+        private SearchPosition position;
+
+        Helper(final int id, final int depth, final TranspositionTable transpositionTable, final AtomicBoolean stop){
+            super(depth, transpositionTable);
+            this.id = id;
+            this.stop = stop;
+        }
+
+        void setRoot(final SearchPosition position){
+            this.position = position;
+        }
+
+        @Override
+        public void run(){
+            resetSearch();
+            final MoveList rootMoves = new MoveList();
+            final int rootMoveCount = this.position.generateLegalMoves(rootMoves);
+            if(rootMoveCount == 0){
+                return;
+            }
+
+            // Odd helpers skip the first iteration and end one ply deeper than the main search
+            int bestMove = rootMoves.get(this.id % rootMoveCount);
+            for(int depth = 1 + (this.id & 1); depth <= this.searchDepth && !this.stop.get(); depth++){
+                final int move = searchRoot(this.position, depth, bestMove);
+                if(isStopped() || move == EncodedMove.NULL_MOVE){
+                    break;
+                }
+                bestMove = move;
+            }
+        }
+
+        @Override
+        protected boolean shouldStop(){
+            return this.stop.get();
+        }
+    }
+}
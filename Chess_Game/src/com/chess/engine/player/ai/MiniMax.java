@@ -1,106 +1,145 @@
 package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.move.EncodedMove;
 import com.chess.engine.board.move.Move;
-import com.chess.engine.player.MoveTransition;
 
 public class MiniMax implements MoveStrategy{
 
     private final BoardEvaluator boardEvaluator;
-    private final int minimaxDepth; 
+    private final int minimaxDepth;
+    // Move picker for every search depth, reused between the nodes
+    private MovePicker[] movePickers;
+    private long nodeCount;
 
     public MiniMax(int depth){
         this.boardEvaluator = new StandardBoardEvaluator();
-        this.minimaxDepth = depth; 
+        this.minimaxDepth = depth;
     }
 
     @Override
     public String toString(){
-        return "MiniMax"; 
+        return "MiniMax";
+    }
+
+    @Override
+    public long getNodeCount(){
+        return this.nodeCount;
     }
 
     @Override
     public Move execute(final Board board) {
-        Move bestMove = null;
+        final long startTime = System.currentTimeMillis();
+        int bestMove = EncodedMove.NULL_MOVE;
         int bestWhiteOutcome = Integer.MIN_VALUE;
-        int bestBlackOutcome = Integer.MAX_VALUE; 
+        int bestBlackOutcome = Integer.MAX_VALUE;
         int currentOutcome;
 
-        System.out.println(board.currentPlayer() + " CALCULATING MOVES with depth = " 
+        System.out.println(board.currentPlayer() + " CALCULATING MOVES with depth = "
                            + this.minimaxDepth);
 
-        for(final Move move : board.currentPlayer().getLegalMoves()){
-            // Make the first move, doesn't matter if WHITE or BLACK 
-            final MoveTransition transition = board.currentPlayer().makeMove(move);
-            
-            if(transition.getMoveStatus().isDone()){
-                // If WHITE (Maximize) just moved, the next player is 
-                // BLACK (Minimize)
-                Board newBoard = transition.getTransitionBoard();
-                currentOutcome = board.currentPlayer()
-                                      .getAlliance()
-                                      .isWhite() ? min(newBoard, this.minimaxDepth - 1) : max(newBoard, this.minimaxDepth - 1);
-                 
-                if(board.currentPlayer().getAlliance().isWhite() 
-                   && currentOutcome >= bestWhiteOutcome){
-
-                    bestWhiteOutcome = currentOutcome;
-                    bestMove = move;
-                }
-                else if(board.currentPlayer().getAlliance().isBlack() 
-                        && currentOutcome <= bestBlackOutcome){
-
-                    bestBlackOutcome = currentOutcome;
-                    bestMove = move;
-                }
+        // The search runs on a single mutable position instead of a new board per move
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        this.movePickers = new MovePicker[this.minimaxDepth + 1];
+        for(int i = 0; i <= this.minimaxDepth; i++){
+            this.movePickers[i] = new MovePicker();
+        }
+        this.nodeCount = 0;
+
+        final MovePicker movePicker = this.movePickers[this.minimaxDepth];
+        movePicker.init(position, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE);
+        for(int move = movePicker.next(); move != EncodedMove.NULL_MOVE; move = movePicker.next()){
+            // Make the first move, doesn't matter if WHITE or BLACK
+            position.makeMove(move);
+
+            // If WHITE (Maximize) just moved, the next player is
+            // BLACK (Minimize)
+            currentOutcome = board.currentPlayer()
+                                  .getAlliance()
+                                  .isWhite() ? min(position, this.minimaxDepth - 1) : max(position, this.minimaxDepth - 1);
+            position.unmakeMove();
+
+            // The first of equally good moves is kept
+            if(board.currentPlayer().getAlliance().isWhite()
+               && (currentOutcome > bestWhiteOutcome || bestMove == EncodedMove.NULL_MOVE)){
+
+                bestWhiteOutcome = currentOutcome;
+                bestMove = move;
+            }
+            else if(board.currentPlayer().getAlliance().isBlack()
+                    && (currentOutcome < bestBlackOutcome || bestMove == EncodedMove.NULL_MOVE)){
+
+                bestBlackOutcome = currentOutcome;
+                bestMove = move;
             }
         }
+        System.out.println(this + " searched " + this.nodeCount + " nodes in "
+                           + (System.currentTimeMillis() - startTime) + " ms");
+        if(bestMove == EncodedMove.NULL_MOVE){
+            return null;
+        }
 
-        return bestMove; 
+        // Hand back the board's own move object for the chosen move
+        return EncodedMove.toMove(board, bestMove);
     }
 
-    public int min(final Board board, int depth){
-        if(depth == 0 || isEndGame(board)){
-            return this.boardEvaluator.evaluate(board, depth);
+    public int min(final SearchPosition position, int depth){
+        this.nodeCount++;
+        if(depth == 0){
+            return this.boardEvaluator.evaluate(position, depth);
+        }
+
+        // Moves are generated stage by stage as the loop asks for them
+        final MovePicker movePicker = this.movePickers[depth];
+        movePicker.init(position, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE);
+        int move = movePicker.next();
+        if(isEndGame(move)){
+            return this.boardEvaluator.evaluate(position, depth);
         }
 
         int lowestOutcome = Integer.MAX_VALUE;
-        // Loop through all the legal moves and evaluate the smallest outcome 
-        for(final Move move : board.currentPlayer().getLegalMoves()){
-            final MoveTransition transition = board.currentPlayer().makeMove(move);
-            if(transition.getMoveStatus().isDone()){
-                final int currentOutcome = max(transition.getTransitionBoard(),
-                                               depth -1); 
-                if(currentOutcome <= lowestOutcome){
-                    lowestOutcome = currentOutcome; 
-                }
+        // Loop through all the legal moves and evaluate the smallest outcome
+        for(; move != EncodedMove.NULL_MOVE; move = movePicker.next()){
+            position.makeMove(move);
+            final int currentOutcome = max(position, depth -1);
+            position.unmakeMove();
+            if(currentOutcome <= lowestOutcome){
+                lowestOutcome = currentOutcome;
             }
         }
-        return lowestOutcome; 
+        return lowestOutcome;
     }
 
-    public int max(final Board board, int depth){
-        if(depth == 0 || isEndGame(board)){
-            return this.boardEvaluator.evaluate(board, depth);
+    public int max(final SearchPosition position, int depth){
+        this.nodeCount++;
+        if(depth == 0){
+            return this.boardEvaluator.evaluate(position, depth);
+        }
+
+        // Moves are generated stage by stage as the loop asks for them
+        final MovePicker movePicker = this.movePickers[depth];
+        movePicker.init(position, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE);
+        int move = movePicker.next();
+        if(isEndGame(move)){
+            return this.boardEvaluator.evaluate(position, depth);
         }
 
         int highestOutcome = Integer.MIN_VALUE;
-        // Loop through all the legal moves and evaluate the largest outcome 
-        for(final Move move : board.currentPlayer().getLegalMoves()){
-            final MoveTransition transition = board.currentPlayer().makeMove(move);
-            if(transition.getMoveStatus().isDone()){
-                final int currentOutcome = min(transition.getTransitionBoard(),
-                                               depth -1); 
-                if(currentOutcome >= highestOutcome){
-                    highestOutcome = currentOutcome; 
-                }
+        // Loop through all the legal moves and evaluate the largest outcome
+        for(; move != EncodedMove.NULL_MOVE; move = movePicker.next()){
+            position.makeMove(move);
+            final int currentOutcome = min(position, depth -1);
+            position.unmakeMove();
+            if(currentOutcome >= highestOutcome){
+                highestOutcome = currentOutcome;
             }
         }
-        return highestOutcome; 
+        return highestOutcome;
     }
 
-    private static boolean isEndGame(final Board board){
-        return board.currentPlayer().isInCheckMate() 
-               || board.currentPlayer().isInStaleMate();
+    // No legal moves left means checkmate or stalemate
+    private static boolean isEndGame(final int firstMove){
+        return firstMove == EncodedMove.NULL_MOVE;
     }
 }
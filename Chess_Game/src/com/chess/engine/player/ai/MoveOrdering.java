@@ -0,0 +1,89 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.move.EncodedMove;
+
+/**This class holds what a search learns about good moves, for the
+'MovePicker' to search them first. Captures are ordered by the most valuable
+victim first, and among equal victims by the least valuable attacker. Two
+killer moves per ply remember the last quiet moves that caused a beta
+cut-off there, and the history table adds up how often a quiet move from
+one tile to another did so anywhere in the tree.
+
+Every search thread needs its own, the tables are not synchronized.*/
+public final class MoveOrdering {
+
+    // More than the most valuable attacker (the king) is worth, so the attacker
+    // only decides the order among captures gaining the same material
+    private static final int VICTIM_WEIGHT = 1 << 14;
+    // History scores are halved once one of them gets this high
+    private static final int MAX_HISTORY = 1 << 20;
+    private static final int MAX_PLY = 128;
+
+    private final int[][] killers = new int[MAX_PLY][2];
+    // Indexed by the alliance to move, the source and the destination tile
+    private final int[][][] history = new int[Alliance.values().length][64][64];
+
+    // Most valuable victim, least valuable attacker. A promotion counts as capturing its gain.
+    public static int captureScore(final int move){
+        final PieceType capturedType = EncodedMove.capturedType(move);
+        final PieceType promotionType = EncodedMove.promotionType(move);
+        int gain = capturedType == null ? 0 : capturedType.getPieceValue();
+        if(promotionType != null){
+            gain += promotionType.getPieceValue() - PieceType.PAWN.getPieceValue();
+        }
+        return gain * VICTIM_WEIGHT - EncodedMove.pieceType(move).getPieceValue();
+    }
+
+    public int firstKiller(final int ply){
+        return ply < MAX_PLY ? this.killers[ply][0] : EncodedMove.NULL_MOVE;
+    }
+
+    public int secondKiller(final int ply){
+        return ply < MAX_PLY ? this.killers[ply][1] : EncodedMove.NULL_MOVE;
+    }
+
+    public int historyScore(final Alliance alliance, final int move){
+        return this.history[alliance.ordinal()][EncodedMove.source(move)][EncodedMove.destination(move)];
+    }
+
+    // A quiet move caused a beta cut-off 'depth' plies from the leaves
+    public void recordCutoff(final Alliance alliance, final int move, final int ply, final int depth){
+        if(ply < MAX_PLY && this.killers[ply][0] != move){
+            this.killers[ply][1] = this.killers[ply][0];
+            this.killers[ply][0] = move;
+        }
+
+        // Cut-offs high in the tree save the most nodes
+        final int[] fromSource = this.history[alliance.ordinal()][EncodedMove.source(move)];
+        fromSource[EncodedMove.destination(move)] += depth * depth;
+        if(fromSource[EncodedMove.destination(move)] > MAX_HISTORY){
+            ageHistory();
+        }
+    }
+
+    // Called between searches, old cut-offs count less but are not forgotten
+    public void ageHistory(){
+        for(final int[][] allianceHistory : this.history){
+            for(final int[] fromSource : allianceHistory){
+                for(int i = 0; i < fromSource.length; i++){
+                    fromSource[i] >>= 1;
+                }
+            }
+        }
+    }
+
+    public void clear(){
+        for(final int[] plyKillers : this.killers){
+            Arrays.fill(plyKillers, EncodedMove.NULL_MOVE);
+        }
+        for(final int[][] allianceHistory : this.history){
+            for(final int[] fromSource : allianceHistory){
+                Arrays.fill(fromSource, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.LegalMoveGenerator;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.MoveList;
+
+/**This class hands out the legal moves of a search node one at a time, in
+stages, so a node that is cut off early never generates its quiet moves.*/
+public final class MovePicker {
+
+    // Stages, in the order the moves are handed out. The search keeps one picker per ply and
+    // calls 'init' for every node, so picking moves does not allocate anything.
+    private static final int HASH_MOVE = 0;
+    private static final int GENERATE_NOISY = 1;
+    private static final int NOISY_MOVES = 2;
+    // Captures expected to lose material, still before the quiet moves: the evaluation
+    // scores a check so high that a losing capture with check often is the best move
+    private static final int LOSING_CAPTURES = 3;
+    private static final int GENERATE_QUIET = 4;
+    private static final int FIRST_KILLER = 5;
+    private static final int SECOND_KILLER = 6;
+    private static final int QUIET_MOVES = 7;
+    private static final int DONE = 8;
+
+    private final MoveList moves = new MoveList();
+    // Ordering score of every generated move of the current stage
+    private final int[] scores = new int[MoveList.MAX_MOVES];
+    private final MoveList losingCaptures = new MoveList();
+    private SearchPosition position;
+    // Sorts the noisy moves by capture score and the quiet ones by history score.
+    // May be null, then the moves keep the order of the move generator.
+    private MoveOrdering moveOrdering;
+    private int hashMove;
+    private int firstKiller;
+    private int secondKiller;
+    private int stage;
+    private int index;
+    // Ends after the noisy moves
+    private boolean isNoisyOnly;
+    // Whether captures losing material are held back, or left out if the picker ends after the noisy moves
+    private boolean isLosingCaptureChecked;
+
+    // 'hashMove' and the killers may be 'EncodedMove.NULL_MOVE'. They can come from other
+    // positions, so they are only handed out when they are legal here.
+    public void init(final SearchPosition position, final int hashMove, final int firstKiller, final int secondKiller){
+        this.moveOrdering = null;
+        this.isNoisyOnly = false;
+        this.isLosingCaptureChecked = false;
+        this.position = position;
+        this.hashMove = hashMove;
+        this.firstKiller = firstKiller;
+        this.secondKiller = secondKiller != firstKiller ? secondKiller : EncodedMove.NULL_MOVE;
+        this.stage = HASH_MOVE;
+        this.index = 0;
+        this.losingCaptures.clear();
+    }
+
+    // Same as above with the killers of 'ply' and the moves sorted by 'moveOrdering'
+    public void init(final SearchPosition position, final int hashMove, final MoveOrdering moveOrdering, final int ply){
+        init(position, hashMove, moveOrdering.firstKiller(ply), moveOrdering.secondKiller(ply));
+        this.moveOrdering = moveOrdering;
+        this.isLosingCaptureChecked = true;
+    }
+
+    // Only the noisy moves, sorted by their capture score if 'moveOrdering' is not null,
+    // and without the captures losing material if 'isLosingCapturePruned'
+    public void initNoisy(final SearchPosition position, final MoveOrdering moveOrdering, final boolean isLosingCapturePruned){
+        init(position, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE);
+        this.moveOrdering = moveOrdering;
+        this.isNoisyOnly = true;
+        this.isLosingCaptureChecked = isLosingCapturePruned;
+        this.stage = GENERATE_NOISY;
+    }
+
+    // The next move to search, or 'EncodedMove.NULL_MOVE' when all the moves have been handed out
+    public int next(){
+        while(true){
+            switch(this.stage){
+                case HASH_MOVE:
+                    this.stage = GENERATE_NOISY;
+                    if(LegalMoveGenerator.isLegalMove(this.position, this.hashMove, this.moves)){
+                        return this.hashMove;
+                    }
+                    this.hashMove = EncodedMove.NULL_MOVE;
+                    break;
+                case GENERATE_NOISY:
+                    LegalMoveGenerator.generateNoisyMoves(this.position, this.moves);
+                    if(this.moveOrdering != null){
+                        for(int i = 0; i < this.moves.size(); i++){
+                            this.scores[i] = MoveOrdering.captureScore(this.moves.get(i));
+                        }
+                    }
+                    this.index = 0;
+                    this.stage = NOISY_MOVES;
+                    break;
+                case NOISY_MOVES:
+                    while(this.index < this.moves.size()){
+                        final int move = nextBest();
+                        if(move == this.hashMove){
+                            continue;
+                        }
+                        if(this.isLosingCaptureChecked && isLosingCapture(move)){
+                            if(!this.isNoisyOnly){
+                                this.losingCaptures.add(move);
+                            }
+                            continue;
+                        }
+                        return move;
+                    }
+                    this.index = 0;
+                    this.stage = this.isNoisyOnly ? DONE : LOSING_CAPTURES;
+                    break;
+                case LOSING_CAPTURES:
+                    if(this.index < this.losingCaptures.size()){
+                        return this.losingCaptures.get(this.index++);
+                    }
+                    this.stage = GENERATE_QUIET;
+                    break;
+                case GENERATE_QUIET:
+                    // The killers are quiet moves, they are legal here if the quiet moves hold them
+                    LegalMoveGenerator.generateQuietMoves(this.position, this.moves);
+                    if(this.moveOrdering != null){
+                        final Alliance sideToMove = this.position.getSideToMove();
+                        for(int i = 0; i < this.moves.size(); i++){
+                            this.scores[i] = this.moveOrdering.historyScore(sideToMove, this.moves.get(i));
+                        }
+                    }
+                    this.index = 0;
+                    this.stage = FIRST_KILLER;
+                    break;
+                case FIRST_KILLER:
+                    this.stage = SECOND_KILLER;
+                    if(isPlayableKiller(this.firstKiller)){
+                        return this.firstKiller;
+                    }
+                    this.firstKiller = EncodedMove.NULL_MOVE;
+                    break;
+                case SECOND_KILLER:
+                    this.stage = QUIET_MOVES;
+                    if(isPlayableKiller(this.secondKiller)){
+                        return this.secondKiller;
+                    }
+                    this.secondKiller = EncodedMove.NULL_MOVE;
+                    break;
+                case QUIET_MOVES:
+                    while(this.index < this.moves.size()){
+                        final int move = nextBest();
+                        if(move != this.hashMove && move != this.firstKiller && move != this.secondKiller){
+                            return move;
+                        }
+                    }
+                    this.stage = DONE;
+                    break;
+                default:
+                    return EncodedMove.NULL_MOVE;
+            }
+        }
+    }
+
+    // Moves the highest scored move left to 'index' and hands it out. Most nodes are cut off
+    // after a few moves, so this beats sorting the whole stage up front.
+    private int nextBest(){
+        if(this.moveOrdering != null){
+            int best = this.index;
+            for(int i = this.index + 1; i < this.moves.size(); i++){
+                if(this.scores[i] > this.scores[best]){
+                    best = i;
+                }
+            }
+            if(best != this.index){
+                this.moves.swap(this.index, best);
+                final int score = this.scores[this.index];
+                this.scores[this.index] = this.scores[best];
+                this.scores[best] = score;
+            }
+        }
+        return this.moves.get(this.index++);
+    }
+
+    // Only a capture with a piece worth more than its victim can lose material
+    private boolean isLosingCapture(final int move){
+        final PieceType capturedType = EncodedMove.capturedType(move);
+        return capturedType != null
+               && !EncodedMove.isPromotion(move)
+               && EncodedMove.pieceType(move).getPieceValue() > capturedType.getPieceValue()
+               && StaticExchangeEvaluator.see(this.position, move) < 0;
+    }
+
+    private boolean isPlayableKiller(final int killer){
+        return killer != EncodedMove.NULL_MOVE && killer != this.hashMove && this.moves.contains(killer);
+    }
+}
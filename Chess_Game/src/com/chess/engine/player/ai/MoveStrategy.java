@@ -5,4 +5,6 @@ import com.chess.engine.board.move.Move;
 
 public interface MoveStrategy {
     Move execute(Board board);
+    // Nodes visited by the last 'execute'
+    long getNodeCount();
 }
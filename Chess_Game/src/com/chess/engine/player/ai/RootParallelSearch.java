@@ -0,0 +1,145 @@
+package com.chess.engine.player.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.Move;
+import com.chess.engine.board.move.MoveList;
+
+/**This class splits the root of an 'AlphaBeta' search over a
+'ForkJoinPool', and always picks the move the single-threaded 'AlphaBeta' picks.*/
+public final class RootParallelSearch implements MoveStrategy{
+
+    // No root move searched yet, below every packed score
+    private static final long NO_BEST = Long.MIN_VALUE;
+
+    private final int searchDepth;
+    private final ForkJoinPool pool;
+    private long nodeCount;
+
+    public RootParallelSearch(final int depth){
+        this(depth, Runtime.getRuntime().availableProcessors());
+    }
+
+    public RootParallelSearch(final int depth, final int threads){
+        this.searchDepth = Math.max(depth, 1);
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    @Override
+    public String toString(){
+        return "RootParallelSearch";
+    }
+
+    @Override
+    public long getNodeCount(){
+        return this.nodeCount;
+    }
+
+    @Override
+    public Move execute(final Board board){
+        final long startTime = System.currentTimeMillis();
+        System.out.println(board.currentPlayer() + " CALCULATING MOVES with depth = " + this.searchDepth
+                           + " on " + this.pool.getParallelism() + " threads");
+
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        final MoveList rootMoves = orderedRootMoves(position);
+        this.nodeCount = 0;
+        if(rootMoves.isEmpty()){
+            return null;
+        }
+
+        // Best score so far and the index of its move, the alpha bound of every task starting later
+        final AtomicLong best = new AtomicLong(NO_BEST);
+        final List<RootMoveTask> tasks = new ArrayList<>(rootMoves.size());
+        for(int i = 0; i < rootMoves.size(); i++){
+            tasks.add(new RootMoveTask(position.copy(), rootMoves.get(i), i, best));
+        }
+        this.pool.invoke(new RecursiveAction(){
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute(){
+                // The other moves are searched against the bound of the first one
+                tasks.get(0).invoke();
+                invokeAll(tasks.subList(1, tasks.size()));
+            }
+        });
+
+        for(final RootMoveTask task : tasks){
+            this.nodeCount += task.nodes;
+        }
+        final int bestMove = rootMoves.get(index(best.get()));
+        System.out.println(this + " searched " + this.nodeCount + " nodes in "
+                           + (System.currentTimeMillis() - startTime) + " ms");
+        return EncodedMove.toMove(board, bestMove);
+    }
+
+    public void shutdown(){
+        this.pool.shutdown();
+    }
+
+    // Root moves in the order 'AlphaBeta.searchRoot' searches them, which decides its ties
+    private static MoveList orderedRootMoves(final SearchPosition position){
+        final MoveList rootMoves = new MoveList();
+        final MovePicker movePicker = new MovePicker();
+        movePicker.init(position, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE, EncodedMove.NULL_MOVE);
+        for(int move = movePicker.next(); move != EncodedMove.NULL_MOVE; move = movePicker.next()){
+            rootMoves.add(move);
+        }
+        return rootMoves;
+    }
+
+    // A higher score packs larger, and for equal scores the lower index does
+    private static long pack(final int score, final int index){
+        return ((long) score << 32) | (0xFFFFFFFFL - index);
+    }
+
+    private static int score(final long packed){
+        return (int) (packed >> 32);
+    }
+
+    private static int index(final long packed){
+        return (int) (0xFFFFFFFFL - (packed & 0xFFFFFFFFL));
+    }
+
+    private final class RootMoveTask extends RecursiveAction{
+        private static final long serialVersionUID = 1L;
+
+        // Owned by this task
+        private final SearchPosition position;
+        private final int move;
+        private final int index;
+        private final AtomicLong best;
+        private long nodes;
+
+        RootMoveTask(final SearchPosition position, final int move, final int index, final AtomicLong best){
+            this.position = position;
+            this.move = move;
+            this.index = index;
+            this.best = best;
+        }
+
+        @Override
+        protected void compute(){
+            final long current = this.best.get();
+            int alpha = -AlphaBeta.INFINITY;
+            if(current != NO_BEST){
+                // Tying the best is enough for a move before it, it gets its exact score and wins the tie
+                alpha = this.index < index(current) ? score(current) - 1 : score(current);
+            }
+
+            final AlphaBeta searcher = new AlphaBeta(searchDepth);
+            final int score = searcher.searchRootMove(this.position, searchDepth, this.move, alpha);
+            this.nodes = searcher.getNodeCount();
+            // A score that is only a bound packs below the best it was bounded by
+            this.best.accumulateAndGet(pack(score, this.index), Math::max);
+        }
+    }
+}
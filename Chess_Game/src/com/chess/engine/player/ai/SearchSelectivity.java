@@ -0,0 +1,57 @@
+package com.chess.engine.player.ai;
+
+/**This class switches the selective parts of the 'AlphaBeta' search on and
+off one by one, so the nodes each of them saves can be measured:
+
+    null move pruning      the player to move passes, and if a reduced
+                           search still fails high the node is cut off
+    late move reductions   quiet moves late in the move order are searched
+                           shallower, and again at full depth if they
+                           turn out better than expected
+    futility pruning       close to the leaves, quiet moves are skipped
+                           when the evaluation is too far below alpha, and
+                           the node is cut off when it is far enough above
+                           beta (reverse futility)
+
+Unlike the full-width search they can miss a move, so they are off in plain
+'AlphaBeta'.*/
+public final class SearchSelectivity {
+
+    public static final SearchSelectivity NONE = new SearchSelectivity(false, false, false);
+    public static final SearchSelectivity ALL = new SearchSelectivity(true, true, true);
+
+    private final boolean isNullMovePruningEnabled;
+    private final boolean isLateMoveReductionEnabled;
+    private final boolean isFutilityPruningEnabled;
+
+    public SearchSelectivity(final boolean isNullMovePruningEnabled,
+                             final boolean isLateMoveReductionEnabled,
+                             final boolean isFutilityPruningEnabled){
+        this.isNullMovePruningEnabled = isNullMovePruningEnabled;
+        this.isLateMoveReductionEnabled = isLateMoveReductionEnabled;
+        this.isFutilityPruningEnabled = isFutilityPruningEnabled;
+    }
+
+    public boolean isNullMovePruningEnabled(){
+        return this.isNullMovePruningEnabled;
+    }
+
+    public boolean isLateMoveReductionEnabled(){
+        return this.isLateMoveReductionEnabled;
+    }
+
+    public boolean isFutilityPruningEnabled(){
+        return this.isFutilityPruningEnabled;
+    }
+
+    public boolean isSelective(){
+        return this.isNullMovePruningEnabled || this.isLateMoveReductionEnabled || this.isFutilityPruningEnabled;
+    }
+
+    @Override
+    public String toString(){
+        return "null move " + (this.isNullMovePruningEnabled ? "on" : "off")
+               + ", late move reductions " + (this.isLateMoveReductionEnabled ? "on" : "off")
+               + ", futility pruning " + (this.isFutilityPruningEnabled ? "on" : "off");
+    }
+}
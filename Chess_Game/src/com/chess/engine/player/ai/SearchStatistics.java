@@ -0,0 +1,92 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+
+/**This class counts how well the moves of a search were ordered. With good
+ordering most beta cut-offs happen on the first move searched, and each
+iteration of 'IterativeDeepening' gets to its depth with fewer nodes. It
+also counts the nodes cut short by the 'SearchSelectivity'.*/
+public final class SearchStatistics {
+
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+    // How often each selective technique kicked in
+    private long nullMoveCutoffs;
+    private long lateMoveReductions;
+    private long futilityPrunes;
+    // Nodes searched until every depth was completed, index 0 is unused
+    private long[] nodesToDepth = new long[0];
+
+    void recordCutoff(final boolean isFirstMove){
+        this.betaCutoffs++;
+        if(isFirstMove){
+            this.firstMoveCutoffs++;
+        }
+    }
+
+    void recordNullMoveCutoff(){
+        this.nullMoveCutoffs++;
+    }
+
+    void recordLateMoveReduction(){
+        this.lateMoveReductions++;
+    }
+
+    void recordFutilityPrune(){
+        this.futilityPrunes++;
+    }
+
+    void recordDepth(final int depth, final long nodes){
+        if(depth >= this.nodesToDepth.length){
+            this.nodesToDepth = Arrays.copyOf(this.nodesToDepth, depth + 1);
+        }
+        this.nodesToDepth[depth] = nodes;
+    }
+
+    void reset(){
+        this.betaCutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        this.nullMoveCutoffs = 0;
+        this.lateMoveReductions = 0;
+        this.futilityPrunes = 0;
+        this.nodesToDepth = new long[0];
+    }
+
+    public long getBetaCutoffs(){
+        return this.betaCutoffs;
+    }
+
+    public long getFirstMoveCutoffs(){
+        return this.firstMoveCutoffs;
+    }
+
+    public long getNullMoveCutoffs(){
+        return this.nullMoveCutoffs;
+    }
+
+    public long getLateMoveReductions(){
+        return this.lateMoveReductions;
+    }
+
+    public long getFutilityPrunes(){
+        return this.futilityPrunes;
+    }
+
+    // Share of the beta cut-offs that came from the first move searched
+    public double getFirstMoveCutoffRate(){
+        return this.betaCutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.betaCutoffs;
+    }
+
+    // Nodes searched until 'depth' was completed, 0 if it never was
+    public long getNodesToDepth(final int depth){
+        return depth < this.nodesToDepth.length ? this.nodesToDepth[depth] : 0;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("%d beta cut-offs, %.1f%% on the first move, %d null move cut-offs, "
+                             + "%d late move reductions, %d futility prunes", this.betaCutoffs,
+                             getFirstMoveCutoffRate() * 100, this.nullMoveCutoffs, this.lateMoveReductions,
+                             this.futilityPrunes);
+    }
+}
@@ -1,6 +1,10 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchPosition;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 
@@ -15,6 +19,33 @@ public final class StandardBoardEvaluator implements BoardEvaluator{
         return totalBoardScore(board, depth);
     }
 
+    @Override
+    public int evaluate(final SearchPosition position, int depth){
+        return allianceScore(position, Alliance.WHITE, depth) 
+               - allianceScore(position, Alliance.BLACK, depth);
+    }
+
+    // Same score terms as the 'Player' based evaluation below
+    private static int allianceScore(final SearchPosition position, 
+                                     final Alliance alliance,
+                                     int depth) {
+        final boolean isOpponentInCheck = position.isInCheck(alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE);
+        return pieceValue(position, alliance)
+               + position.countPseudoLegalMoves(alliance)
+               + (isOpponentInCheck ? CHECK_SCORE : 0)
+               + (isOpponentInCheck ? CHECK_MATE_SCORE * depthBonus(depth) : 0)
+               + (position.isCastled(alliance) ? CASTLE_SCORE : 0);
+    }
+
+    private static int pieceValue(final SearchPosition position, final Alliance alliance){
+        int pieceValueScore = 0;
+        for(final PieceType pieceType : PieceType.values()){
+            pieceValueScore += pieceType.getPieceValue() 
+                               * BitBoards.count(position.getPieceBitBoard(pieceType, alliance));
+        }
+        return pieceValueScore;
+    }
+
     private static int totalBoardScore(Board board, int depth) {
         return whitePlayerScore(board.whitePlayer(), depth) 
                - blackPlayerScore(board.blackPlayer(), depth);
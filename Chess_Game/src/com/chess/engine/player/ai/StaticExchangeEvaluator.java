@@ -0,0 +1,106 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.BitBoards;
+import com.chess.engine.board.BitboardPosition;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.MagicBitboards;
+import com.chess.engine.board.SquareAttacks;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.Move;
+
+/**This class estimates what a capture wins or loses without searching it.
+Both sides take turns recapturing on the destination tile, always with
+their least valuable attacker, and either side may stop once going on
+would lose more. Every capture removes the attacker from the occupancy, so
+a slider behind it (an x-ray attacker, like a rook behind a rook) joins the
+exchange. Pins and checks are ignored.*/
+public final class StaticExchangeEvaluator {
+
+    // Enough for every piece on the board to capture once
+    private static final int MAX_EXCHANGES = 32;
+
+    private StaticExchangeEvaluator(){
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    // Material the player making 'move' wins, negative if the capture loses material
+    public static int see(final Board board, final Move move){
+        return see(board, EncodedMove.fromMove(move));
+    }
+
+    // Same for an encoded move of the player to move
+    public static int see(final BitboardPosition position, final int move){
+        final int source = EncodedMove.source(move);
+        final int destination = EncodedMove.destination(move);
+        final Alliance mover = position.getSideToMove();
+        final PieceType capturedType = EncodedMove.capturedType(move);
+        final PieceType promotionType = EncodedMove.promotionType(move);
+
+        long occupied = position.getOccupiedBitBoard() & ~BitBoards.squareBit(source);
+        if(EncodedMove.isEnPassant(move)){
+            // The captured pawn is next to the destination, behind it for the mover
+            occupied &= ~BitBoards.squareBit(destination + (mover.isWhite() ? 8 : -8));
+        }
+        final long diagonalSliders = pieces(position, PieceType.BISHOP) | pieces(position, PieceType.QUEEN);
+        final long straightSliders = pieces(position, PieceType.ROOK) | pieces(position, PieceType.QUEEN);
+        long attackers = (SquareAttacks.attackersOf(position, destination, Alliance.WHITE, occupied)
+                          | SquareAttacks.attackersOf(position, destination, Alliance.BLACK, occupied)) & occupied;
+
+        // gains[i] is what the side making capture i has won so far, if the exchange ends there
+        final int[] gains = new int[MAX_EXCHANGES];
+        gains[0] = (capturedType == null ? 0 : capturedType.getPieceValue())
+                   + (promotionType == null ? 0 : promotionType.getPieceValue() - PieceType.PAWN.getPieceValue());
+        // Value of the piece standing on the destination, the next one to be captured
+        int targetValue = promotionType == null ? EncodedMove.pieceType(move).getPieceValue() : promotionType.getPieceValue();
+        Alliance side = opponent(mover);
+        int depth = 0;
+        while(depth + 1 < MAX_EXCHANGES){
+            final long sideAttackers = attackers & position.getAllianceBitBoard(side);
+            if(sideAttackers == 0){
+                break;
+            }
+            final PieceType attackerType = leastValuableType(position, sideAttackers, side);
+            // The king can only capture when nothing can take it back
+            if(attackerType == PieceType.KING && (attackers & position.getAllianceBitBoard(opponent(side))) != 0){
+                break;
+            }
+
+            depth++;
+            gains[depth] = targetValue - gains[depth - 1];
+            targetValue = attackerType.getPieceValue();
+            final long attackerBit = Long.lowestOneBit(sideAttackers & position.getPieceBitBoard(attackerType, side));
+            occupied &= ~attackerBit;
+            // Sliders behind the attacker now see the destination
+            attackers |= (MagicBitboards.bishopAttacks(destination, occupied) & diagonalSliders)
+                         | (MagicBitboards.rookAttacks(destination, occupied) & straightSliders);
+            attackers &= occupied;
+            side = opponent(side);
+        }
+
+        // A side only recaptures when that does not leave it worse off than stopping
+        while(depth > 0){
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+            depth--;
+        }
+        return gains[0];
+    }
+
+    private static PieceType leastValuableType(final BitboardPosition position, final long attackers, final Alliance side){
+        for(final PieceType pieceType : PieceType.values()){
+            if((attackers & position.getPieceBitBoard(pieceType, side)) != 0){
+                return pieceType;
+            }
+        }
+        throw new RuntimeException("No attacker in " + Long.toHexString(attackers));
+    }
+
+    private static long pieces(final BitboardPosition position, final PieceType pieceType){
+        return position.getPieceBitBoard(pieceType, Alliance.WHITE) | position.getPieceBitBoard(pieceType, Alliance.BLACK);
+    }
+
+    private static Alliance opponent(final Alliance alliance){
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+}
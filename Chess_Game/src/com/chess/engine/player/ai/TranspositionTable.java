@@ -0,0 +1,162 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+
+/**This class remembers the search results of positions by their Zobrist
+key, so a position reached again through another move order is not
+searched from scratch. An entry is packed into one data long:
+
+    bits  0-23  best move ('EncodedMove', 0 if none)
+    bits 24-29  remaining depth of the search
+    bits 30-31  bound type
+    bits 32-37  age, the search the entry was written in
+    bits 38-63  score, signed
+
+and stored as two longs, the Zobrist key XOR the data and the data. Many
+search threads share the table without a lock: a reader only trusts an
+entry when the two longs XOR back to its key, so an entry half written by
+another thread reads as a miss. Entries live in buckets of two; a new entry
+replaces the one from an older search or with the smaller depth.*/
+public final class TranspositionTable {
+
+    // Bound types, how the stored score relates to the true score
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    // Returned by 'probe' on a miss, no stored entry is 0 because its bound type is not
+    public static final long NO_ENTRY = 0L;
+
+    // Scores outside this range are not stored
+    public static final int MAX_SCORE = (1 << 25) - 1;
+    public static final int MAX_DEPTH = 63;
+
+    private static final long MOVE_MASK = (1L << 24) - 1;
+    private static final int DEPTH_SHIFT = 24;
+    private static final long DEPTH_MASK = 0x3F;
+    private static final int BOUND_SHIFT = 30;
+    private static final long BOUND_MASK = 0x3;
+    private static final int AGE_SHIFT = 32;
+    private static final long AGE_MASK = 0x3F;
+    private static final int SCORE_SHIFT = 38;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    private static final int BUCKET_SIZE = 2;
+    // Entries sampled by 'hashfull'
+    private static final int HASHFULL_SAMPLE = 1000;
+
+    // Two longs per entry, key ^ data then data
+    private final long[] entries;
+    private final int bucketMask;
+    private int age;
+
+    // The table takes at most 'sizeMB' megabytes, rounded down to a power of two entries
+    public TranspositionTable(final int sizeMB){
+        final long maxEntries = Math.max((long) sizeMB * 1024 * 1024 / ENTRY_BYTES, BUCKET_SIZE);
+        final int entryCount = (int) Long.highestOneBit(Math.min(maxEntries, 1L << 28));
+        this.entries = new long[entryCount * 2];
+        this.bucketMask = entryCount / BUCKET_SIZE - 1;
+    }
+
+    // Called before every new search, entries of older searches are replaced first
+    public void newSearch(){
+        this.age = (this.age + 1) & (int) AGE_MASK;
+    }
+
+    public void clear(){
+        Arrays.fill(this.entries, 0L);
+        this.age = 0;
+    }
+
+    // The data of the entry for 'key', or 'NO_ENTRY'
+    public long probe(final long key){
+        final int first = bucketIndex(key);
+        for(int index = first; index < first + BUCKET_SIZE * 2; index += 2){
+            final long data = this.entries[index + 1];
+            if((this.entries[index] ^ data) == key && data != NO_ENTRY){
+                return data;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    public void store(final long key, final int depth, final int bound, final int score, final int move){
+        if(score > MAX_SCORE || score < -MAX_SCORE){
+            return;
+        }
+        final int first = bucketIndex(key);
+        int replace = first;
+        int replaceWorth = Integer.MAX_VALUE;
+        for(int index = first; index < first + BUCKET_SIZE * 2; index += 2){
+            final long data = this.entries[index + 1];
+            if((this.entries[index] ^ data) == key){
+                // Same position, keep the known best move if this search found none
+                replace = index;
+                if(move == 0 && data != NO_ENTRY){
+                    store(index, key, pack(depth, bound, score, move(data)));
+                    return;
+                }
+                break;
+            }
+            // Entries of older searches are worth nothing, the others are worth their depth
+            final int worth = data == NO_ENTRY || age(data) != this.age ? -1 : depth(data);
+            if(worth < replaceWorth){
+                replaceWorth = worth;
+                replace = index;
+            }
+        }
+        store(replace, key, pack(depth, bound, score, move));
+    }
+
+    // Entries written by the current search per mille, sampled from the start of the table
+    public int hashfull(){
+        final int sample = Math.min(HASHFULL_SAMPLE, this.entries.length / 2);
+        int used = 0;
+        for(int i = 0; i < sample; i++){
+            final long data = this.entries[i * 2 + 1];
+            if(data != NO_ENTRY && age(data) == this.age){
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    // Entry field accessors
+    public static int move(final long data){
+        return (int) (data & MOVE_MASK);
+    }
+
+    public static int depth(final long data){
+        return (int) ((data >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    public static int bound(final long data){
+        return (int) ((data >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    public static int score(final long data){
+        // Arithmetic shift keeps the sign
+        return (int) (data >> SCORE_SHIFT);
+    }
+
+    private static int age(final long data){
+        return (int) ((data >>> AGE_SHIFT) & AGE_MASK);
+    }
+
+    private long pack(final int depth, final int bound, final int score, final int move){
+        return (move & MOVE_MASK)
+               | ((long) Math.min(depth, MAX_DEPTH) << DEPTH_SHIFT)
+               | ((long) bound << BOUND_SHIFT)
+               | ((long) this.age << AGE_SHIFT)
+               | ((long) score << SCORE_SHIFT);
+    }
+
+    private void store(final int index, final long key, final long data){
+        this.entries[index + 1] = data;
+        this.entries[index] = key ^ data;
+    }
+
+    private int bucketIndex(final long key){
+        return ((int) key & this.bucketMask) * BUCKET_SIZE * 2;
+    }
+}
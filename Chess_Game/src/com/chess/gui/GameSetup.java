@@ -22,6 +22,8 @@ public class GameSetup extends JDialog{
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
     private JSpinner aiDepthSpinner;
+    private JSpinner aiMoveTimeSpinner;
+    private JSpinner aiThreadsSpinner;
     
     private static final String PLAYER_TEXT = "Player";
     private static final String COMPUTER_TEXT = "Computer";
@@ -33,7 +35,7 @@ public class GameSetup extends JDialog{
         setLocationRelativeTo(frame);
 
         // Setup the dialog box layout 
-        final JPanel setupPanel = new JPanel(new GridLayout(4, 3));
+        final JPanel setupPanel = new JPanel(new GridLayout(6, 3));
 
         // White radio buttons 
         final JRadioButton whiteHumanBtn = new JRadioButton(PLAYER_TEXT);
@@ -68,11 +70,27 @@ public class GameSetup extends JDialog{
         
         setupPanel.add(new JLabel("Searching Depth for AI: "));
         this.aiDepthSpinner = new JSpinner(new SpinnerNumberModel(3, 0, 
-                                                                  5, 1)); 
+                                                                  10, 1)); 
         
         setupPanel.add(this.aiDepthSpinner);
         setupPanel.add(new JLabel(""));
 
+        // The AI searches deeper until the depth is reached or the time is up (0 means no limit)
+        setupPanel.add(new JLabel("Time per Move for AI (s): "));
+        this.aiMoveTimeSpinner = new JSpinner(new SpinnerNumberModel(5, 0,
+                                                                     60, 1));
+
+        setupPanel.add(this.aiMoveTimeSpinner);
+        setupPanel.add(new JLabel(""));
+
+        // More than one thread searches with Lazy SMP
+        setupPanel.add(new JLabel("Search Threads for AI: "));
+        this.aiThreadsSpinner = new JSpinner(new SpinnerNumberModel(Runtime.getRuntime().availableProcessors(), 1,
+                                                                    64, 1));
+
+        setupPanel.add(this.aiThreadsSpinner);
+        setupPanel.add(new JLabel(""));
+
         setupPanel.add(new JLabel(""));
         JButton okBtn = new JButton("Ok");
         JButton cancelBtn = new JButton("Cancel");
@@ -127,5 +145,14 @@ public class GameSetup extends JDialog{
     public int getAIDepth(){
         return (Integer) this.aiDepthSpinner.getValue();
     }
+
+    // In milliseconds, 0 if the AI has no time limit
+    public long getAIMoveTime(){
+        return 1000L * (Integer) this.aiMoveTimeSpinner.getValue();
+    }
+
+    public int getAIThreads(){
+        return (Integer) this.aiThreadsSpinner.getValue();
+    }
 }
 
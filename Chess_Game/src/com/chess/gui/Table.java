@@ -44,7 +44,7 @@ import com.chess.engine.board.move.Move;
 import com.chess.engine.board.move.MoveFactory;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveTransition;
-import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.LazySMP;
 import com.chess.engine.player.ai.MoveStrategy;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
@@ -203,8 +203,10 @@ public class Table extends Observable{
 
         @Override
         protected Move doInBackground() throws Exception {
-            final MoveStrategy miniMax = new MiniMax(Table.get().gameSetup.getAIDepth());
-            final Move bestMove = miniMax.execute(Table.get().chessBoard);
+            final MoveStrategy lazySMP = new LazySMP(Table.get().gameSetup.getAIDepth(),
+                                                     Table.get().gameSetup.getAIMoveTime(),
+                                                     Table.get().gameSetup.getAIThreads());
+            final Move bestMove = lazySMP.execute(Table.get().chessBoard);
             return bestMove;
         }
 
@@ -526,7 +528,7 @@ public class Table extends Observable{
                 if(humanMovedPiece == board.currentPlayer().getPlayerKing()){
                     Builder<Move> builder = ImmutableList.builder();
                     builder.addAll(humanMovedPiece.calculateLegalMoves(board));
-                    builder.addAll(board.currentPlayer().calculateKingCastles(board.currentPlayer().getOpponent().getLegalMoves()));
+                    builder.addAll(board.currentPlayer().calculateKingCastles());
                     return ImmutableList.copyOf(builder.build()); 
                 }
                 return humanMovedPiece.calculateLegalMoves(board);
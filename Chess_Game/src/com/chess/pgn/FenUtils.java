@@ -1,8 +1,13 @@
 package com.chess.pgn;
 
+import java.util.Arrays;
+
+import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Builder;
 import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.PieceCache;
 
 public class FenUtils {
     
@@ -11,7 +16,89 @@ public class FenUtils {
     }
 
     public static Board createGameFromFEN(final String fenString){
-        return null;
+        final String[] fenPartitions = fenString.trim().split(" ");
+        final Builder builder = new Builder();
+        final String castleText = fenPartitions[2];
+        final boolean whiteKingSide = castleText.contains("K");
+        final boolean whiteQueenSide = castleText.contains("Q");
+        final boolean blackKingSide = castleText.contains("k");
+        final boolean blackQueenSide = castleText.contains("q");
+
+        // Walk the ranks from the eighth rank down, the same order as the tile coordinates
+        int tileCoordinate = 0;
+        for(final char tileText : fenPartitions[0].toCharArray()){
+            if(tileText == '/'){
+                continue;
+            }
+            if(Character.isDigit(tileText)){
+                tileCoordinate += tileText - '0';
+                continue;
+            }
+            final Alliance alliance = Character.isUpperCase(tileText) ? Alliance.WHITE : Alliance.BLACK;
+            switch(Character.toLowerCase(tileText)){
+                case 'p':
+                    builder.setPiece(PieceCache.getPawn(tileCoordinate, alliance,
+                                                        alliance.isWhite() ? BoardUtils.SECOND_RANK[tileCoordinate]
+                                                                           : BoardUtils.SEVENTH_RANK[tileCoordinate]));
+                    break;
+                case 'n':
+                    builder.setPiece(PieceCache.getKnight(tileCoordinate, alliance, true));
+                    break;
+                case 'b':
+                    builder.setPiece(PieceCache.getBishop(tileCoordinate, alliance, true));
+                    break;
+                case 'r':
+                    // Only a rook on its starting corner can still castle
+                    final boolean isCastleRook = (tileCoordinate == 63 && whiteKingSide) || (tileCoordinate == 56 && whiteQueenSide)
+                                                 || (tileCoordinate == 7 && blackKingSide) || (tileCoordinate == 0 && blackQueenSide);
+                    builder.setPiece(PieceCache.getRook(tileCoordinate, alliance, isCastleRook));
+                    break;
+                case 'q':
+                    builder.setPiece(PieceCache.getQueen(tileCoordinate, alliance, true));
+                    break;
+                case 'k':
+                    final boolean isKingSideCastleAllowed = alliance.isWhite() ? whiteKingSide : blackKingSide;
+                    final boolean isQueenSideCastleAllowed = alliance.isWhite() ? whiteQueenSide : blackQueenSide;
+                    builder.setPiece(PieceCache.getKing(tileCoordinate, alliance,
+                                                        isKingSideCastleAllowed || isQueenSideCastleAllowed,
+                                                        false,
+                                                        isKingSideCastleAllowed,
+                                                        isQueenSideCastleAllowed));
+                    break;
+                default:
+                    throw new RuntimeException("Invalid FEN string: " + fenString);
+            }
+            tileCoordinate++;
+        }
+
+        final Alliance nextPlayer = fenPartitions[1].equals("w") ? Alliance.WHITE : Alliance.BLACK;
+        builder.nextPlayer(nextPlayer);
+
+        if(fenPartitions.length > 3 && !fenPartitions[3].equals("-")){
+            // The pawn that just jumped sits in front of the en passant square, seen from its own side
+            final Alliance pawnAlliance = nextPlayer.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+            final int pawnCoordinate = BoardUtils.getCoordinateAtPosition(fenPartitions[3])
+                                       + (8 * pawnAlliance.getDirection());
+            builder.setEnPassantPawn((Pawn) builder.getPiece(pawnCoordinate));
+        }
+        return builder.build();
+    }
+
+    // Command line tools take a FEN and an optional depth. The FEN has spaces, so every
+    // argument but the depth belongs to it, without any it is the initial board.
+    public static Board createGameFromArgs(final String[] args){
+        final int fenArgs = hasDepthArg(args) ? args.length - 1 : args.length;
+        return fenArgs > 0 ? createGameFromFEN(String.join(" ", Arrays.copyOf(args, fenArgs)))
+                           : Board.createInitialBoard();
+    }
+
+    public static int depthFromArgs(final String[] args, final int defaultDepth){
+        return hasDepthArg(args) ? Integer.parseInt(args[args.length - 1]) : defaultDepth;
+    }
+
+    // A FEN has 4 fields, or 6 with the move counters, which are numbers as well
+    private static boolean hasDepthArg(final String[] args){
+        return (args.length == 1 || args.length == 5 || args.length == 7) && args[args.length - 1].matches("\\d+");
     }
 
     public static String createFENFromGame(final Board board){
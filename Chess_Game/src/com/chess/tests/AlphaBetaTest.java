@@ -0,0 +1,173 @@
+package com.chess.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.chess.engine.PieceType;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.move.Move;
+import com.chess.engine.board.move.MoveFactory;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.LazySMP;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.RootParallelSearch;
+import com.chess.engine.player.ai.SearchSelectivity;
+import com.chess.pgn.FenUtils;
+
+public class AlphaBetaTest {
+    @Test
+    public void testSameMoveAsMiniMax(){
+        final String[] fenStrings = {"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                                     "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                                     "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 b - - 0 10",
+                                     "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"};
+        for(final String fenString : fenStrings){
+            final Board board = FenUtils.createGameFromFEN(fenString);
+            final MoveStrategy miniMax = new MiniMax(3);
+            final MoveStrategy alphaBeta = new AlphaBeta(3);
+
+            assertEquals(fenString, miniMax.execute(board), alphaBeta.execute(board));
+            // Pruning only ever skips nodes
+            assertTrue(alphaBeta.getNodeCount() < miniMax.getNodeCount());
+        }
+    }
+
+    @Test
+    public void testFoolsMateAI(){
+        final Board board = FenUtils.createGameFromFEN("rnbqkbnr/pppp1ppp/8/4p3/5PP1/8/PPPPP2P/RNBQKBNR b KQkq g3 0 2");
+        final Move move = new AlphaBeta(4).execute(board);
+
+        assertEquals(move, MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("d8"),
+                                                  BoardUtils.getCoordinateAtPosition("h4")));
+    }
+
+    @Test
+    public void testIterativeDeepening(){
+        // Without a budget every iteration up to the depth is completed
+        final Board foolsMate = FenUtils.createGameFromFEN("rnbqkbnr/pppp1ppp/8/4p3/5PP1/8/PPPPP2P/RNBQKBNR b KQkq g3 0 2");
+        final IterativeDeepening unlimited = new IterativeDeepening(4, IterativeDeepening.UNLIMITED);
+        assertEquals(unlimited.execute(foolsMate), MoveFactory.createMove(foolsMate, BoardUtils.getCoordinateAtPosition("d8"),
+                                                                           BoardUtils.getCoordinateAtPosition("h4")));
+        assertEquals(unlimited.getCompletedDepth(), 4);
+
+        // A deep search on a busy position stops close to its deadline with a legal move
+        final Board kiwipete = FenUtils.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final IterativeDeepening timed = new IterativeDeepening(30, 200);
+        final long startTime = System.currentTimeMillis();
+        final Move timedMove = timed.execute(kiwipete);
+        assertTrue(System.currentTimeMillis() - startTime < 1000);
+        assertTrue(kiwipete.currentPlayer().isMoveLegal(timedMove));
+        assertTrue(timed.getCompletedDepth() >= 1 && timed.getCompletedDepth() < 30);
+
+        // A node budget too small for the first iteration still gives a legal move
+        final IterativeDeepening nodeLimited = new IterativeDeepening(30, IterativeDeepening.UNLIMITED, 1);
+        assertTrue(kiwipete.currentPlayer().isMoveLegal(nodeLimited.execute(kiwipete)));
+    }
+
+    @Test
+    public void testLazySMP(){
+        final Board foolsMate = FenUtils.createGameFromFEN("rnbqkbnr/pppp1ppp/8/4p3/5PP1/8/PPPPP2P/RNBQKBNR b KQkq g3 0 2");
+        final LazySMP lazySMP = new LazySMP(4, IterativeDeepening.UNLIMITED, 4);
+        assertEquals(lazySMP.execute(foolsMate), MoveFactory.createMove(foolsMate, BoardUtils.getCoordinateAtPosition("d8"),
+                                                                         BoardUtils.getCoordinateAtPosition("h4")));
+        assertEquals(lazySMP.getCompletedDepth(), 4);
+
+        // The helpers search too, and are done once the move is returned
+        final Board kiwipete = FenUtils.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final int threadsBefore = Thread.activeCount();
+        assertTrue(kiwipete.currentPlayer().isMoveLegal(lazySMP.execute(kiwipete)));
+        assertTrue(lazySMP.getTotalNodeCount() > lazySMP.getNodeCount());
+        assertEquals(Thread.activeCount(), threadsBefore);
+    }
+
+    @Test
+    public void testRootParallelSearch(){
+        final String[] fenStrings = {"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                                     "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                                     "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 b - - 0 10",
+                                     "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                                     "rnbqkbnr/pppp1ppp/8/4p3/5PP1/8/PPPPP2P/RNBQKBNR b KQkq g3 0 2"};
+        final RootParallelSearch rootParallel = new RootParallelSearch(4, 4);
+        for(final String fenString : fenStrings){
+            final Board board = FenUtils.createGameFromFEN(fenString);
+            final Move expected = new AlphaBeta(4).execute(board);
+            // The same move on every run, whatever the thread timing
+            for(int run = 0; run < 3; run++){
+                assertEquals(fenString, expected, rootParallel.execute(board));
+            }
+        }
+        rootParallel.shutdown();
+    }
+
+    @Test
+    public void testQuiescence(){
+        // The d5 pawn is defended twice, taking it loses the rook
+        final Board board = FenUtils.createGameFromFEN("4k3/8/2p1p3/3p4/8/8/8/3RK3 w - - 0 1");
+        final Move rookTakesPawn = MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("d1"),
+                                                          BoardUtils.getCoordinateAtPosition("d5"));
+
+        // One ply deep the recapture is not seen
+        assertEquals(new AlphaBeta(1).execute(board), rookTakesPawn);
+        final AlphaBeta quiescence = new AlphaBeta(1);
+        quiescence.setQuiescenceEnabled(true);
+        final Move move = quiescence.execute(board);
+        assertTrue(board.currentPlayer().isMoveLegal(move));
+        assertFalse(move.equals(rookTakesPawn));
+    }
+
+    @Test
+    public void testSearchSelectivity(){
+        final Board board = FenUtils.createGameFromFEN("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 b - - 0 10");
+        final long fullWidthNodes = searchNodes(board, SearchSelectivity.NONE);
+
+        // Every technique on its own searches fewer nodes than the full-width search
+        assertTrue(searchNodes(board, new SearchSelectivity(true, false, false)) < fullWidthNodes);
+        assertTrue(searchNodes(board, new SearchSelectivity(false, true, false)) < fullWidthNodes);
+        assertTrue(searchNodes(board, new SearchSelectivity(false, false, true)) < fullWidthNodes);
+        assertTrue(searchNodes(board, SearchSelectivity.ALL) < fullWidthNodes);
+
+        // The mate in one is still found
+        final Board foolsMate = FenUtils.createGameFromFEN("rnbqkbnr/pppp1ppp/8/4p3/5PP1/8/PPPPP2P/RNBQKBNR b KQkq g3 0 2");
+        final AlphaBeta selective = new AlphaBeta(4);
+        selective.setSelectivity(SearchSelectivity.ALL);
+        assertEquals(selective.execute(foolsMate), MoveFactory.createMove(foolsMate, BoardUtils.getCoordinateAtPosition("d8"),
+                                                                           BoardUtils.getCoordinateAtPosition("h4")));
+    }
+
+    private static long searchNodes(final Board board, final SearchSelectivity selectivity){
+        final AlphaBeta alphaBeta = new AlphaBeta(5);
+        alphaBeta.setSelectivity(selectivity);
+        final Move move = alphaBeta.execute(board);
+        assertTrue(board.currentPlayer().isMoveLegal(move));
+        return alphaBeta.getNodeCount();
+    }
+
+    @Test
+    public void testUnderpromotion(){
+        // Only the knight promotion on f8 mates, the queen promotion there is not even a check
+        final Board board = FenUtils.createGameFromFEN("6br/5Ppk/6pp/8/8/8/8/K7 w - - 0 1");
+        final Move knightPromotion = MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("f7"),
+                                                            BoardUtils.getCoordinateAtPosition("f8"), PieceType.KNIGHT);
+        final RootParallelSearch rootParallel = new RootParallelSearch(2, 2);
+        final MoveStrategy[] strategies = {new MiniMax(2), new AlphaBeta(2), rootParallel,
+                                           new IterativeDeepening(2, IterativeDeepening.UNLIMITED),
+                                           new LazySMP(2, IterativeDeepening.UNLIMITED, 2)};
+        for(final MoveStrategy strategy : strategies){
+            final Move move = strategy.execute(board);
+            assertEquals(strategy.toString(), move, knightPromotion);
+
+            // The board plays the move that was searched
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            assertTrue(transition.getMoveStatus().isDone());
+            assertTrue(transition.getTransitionBoard().currentPlayer().isInCheckMate());
+        }
+        rootParallel.shutdown();
+    }
+}
@@ -3,15 +3,22 @@ package com.chess.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.BitBoards;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Builder;
+import com.chess.engine.board.ZobristHashing;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.Move;
 import com.chess.engine.board.move.MoveFactory;
+import com.chess.engine.board.move.PawnPromotion;
 import com.chess.engine.pieces.Bishop;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Knight;
@@ -20,6 +27,7 @@ import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Queen;
 import com.chess.engine.pieces.Rook;
 import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtils;
 import com.google.common.collect.Iterables;
 
 public class BoardTest {
@@ -257,6 +265,141 @@ public class BoardTest {
 
     }
 
+    @Test
+    public void testBuilderFromParent() {
+        // Castling, en passant and promotion moves are all available here
+        final Board board = FenUtils.createGameFromFEN("r3k2r/1P6/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1");
+        final String parentFEN = FenUtils.createFENFromGame(board);
+
+        for(final Move move : board.currentPlayer().getLegalMoves()){
+            final Board childBoard = move.execute();
+
+            // The child placement matches a board built from scratch with the same pieces
+            final Builder builder = new Builder();
+            for(final Piece piece : childBoard.getAllPieces()){
+                builder.setPiece(piece);
+            }
+            builder.nextPlayer(childBoard.currentPlayer().getAlliance());
+            final Board rebuiltBoard = builder.build();
+
+            for(final Alliance alliance : Alliance.values()){
+                for(final PieceType pieceType : PieceType.values()){
+                    assertEquals(childBoard.getPieceBitBoard(pieceType, alliance),
+                                 rebuiltBoard.getPieceBitBoard(pieceType, alliance));
+                }
+            }
+            assertEquals(FenUtils.createFENFromGame(childBoard).split(" ")[0],
+                         FenUtils.createFENFromGame(rebuiltBoard).split(" ")[0]);
+            // The parent board is left untouched
+            assertEquals(FenUtils.createFENFromGame(board), parentFEN);
+        }
+    }
+
+    @Test
+    public void testBuilderReuse() {
+        final Builder builder = new Builder(Board.createInitialBoard());
+        builder.nextPlayer(Alliance.WHITE);
+        final Board board = builder.build();
+        final String fen = FenUtils.createFENFromGame(board);
+        final long zobristKey = board.getZobristKey();
+        final int e2 = BoardUtils.getCoordinateAtPosition("e2");
+        final int e4 = BoardUtils.getCoordinateAtPosition("e4");
+
+        // Changing the builder afterwards builds a new board and leaves the earlier one as it was
+        builder.removePiece(e2);
+        builder.setPiece(new Queen(e4, Alliance.WHITE));
+        final Board otherBoard = builder.build();
+        assertEquals(otherBoard.getPiece(e4).getPieceType(), PieceType.QUEEN);
+        assertEquals(FenUtils.createFENFromGame(board), fen);
+        assertEquals(board.getZobristKey(), zobristKey);
+        assertEquals(board.getZobristKey(), ZobristHashing.computeKey(board));
+        assertEquals(board.getPiece(e2).getPieceType(), PieceType.PAWN);
+        assertNull(board.getPiece(e4));
+        assertEquals(board.getPieceBitBoard(PieceType.QUEEN, Alliance.WHITE), 
+                     BitBoards.squareBit(BoardUtils.getCoordinateAtPosition("d1")));
+        assertEquals(board.currentPlayer().getLegalMoves().size(), 20);
+    }
+
+    @Test
+    public void testZobristKeys() {
+        // Every incremental key matches a full recompute, including the special moves
+        final Board board = FenUtils.createGameFromFEN("r3k2r/1P6/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1");
+        assertEquals(board.getZobristKey(), ZobristHashing.computeKey(board));
+        for(final Move move : board.currentPlayer().getLegalMoves()){
+            final Board childBoard = move.execute();
+            assertEquals(move.toString(), childBoard.getZobristKey(), ZobristHashing.computeKey(childBoard));
+        }
+
+        // The same position reached by different move orders is the same board
+        final Board initialBoard = Board.createInitialBoard();
+        final Board knightsBack = playMoves(initialBoard, "g1", "f3", "g8", "f6", "f3", "g1", "f6", "g8");
+        assertEquals(initialBoard, knightsBack);
+        assertEquals(initialBoard.hashCode(), knightsBack.hashCode());
+
+        final Board firstOrder = playMoves(initialBoard, "g1", "f3", "g8", "f6", "b1", "c3");
+        final Board secondOrder = playMoves(initialBoard, "b1", "c3", "g8", "f6", "g1", "f3");
+        assertEquals(firstOrder, secondOrder);
+        assertEquals(firstOrder.getZobristKey(), secondOrder.getZobristKey());
+
+        // Same placement, different player to move
+        assertFalse(initialBoard.equals(playMoves(initialBoard, "g1", "f3", "g8", "f6", "f3", "g1")));
+    }
+
+    @Test
+    public void testMoveIndex() {
+        final Board board = FenUtils.createGameFromFEN("r3k2r/1P6/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1");
+
+        // The index finds the same move a scan over all the legal moves finds
+        for(final Move move : board.getAllLegalMoves()){
+            Move scannedMove = null;
+            for(final Move candidate : board.getAllLegalMoves()){
+                if(candidate.getCurrentCoordinate() == move.getCurrentCoordinate()
+                   && candidate.getDestinationCoordinate() == move.getDestinationCoordinate()){
+                    scannedMove = candidate;
+                    break;
+                }
+            }
+            assertSame(MoveFactory.createMove(board, move.getCurrentCoordinate(), move.getDestinationCoordinate()), scannedMove);
+        }
+        for(final Move move : board.currentPlayer().getLegalMoves()){
+            assertTrue(board.currentPlayer().isMoveLegal(move));
+        }
+
+        // The promotion is found with and without naming the promotion piece
+        final int b7 = BoardUtils.getCoordinateAtPosition("b7");
+        final int b8 = BoardUtils.getCoordinateAtPosition("b8");
+        assertTrue(MoveFactory.createMove(board, b7, b8) instanceof PawnPromotion);
+        assertSame(MoveFactory.createMove(board, b7, b8, PieceType.QUEEN), MoveFactory.createMove(board, b7, b8));
+        assertSame(MoveFactory.createMove(board, b7, b8, null), Move.INVALID_MOVE);
+
+        // An underpromotion is the same move with another piece
+        final Move knightPromotion = MoveFactory.createMove(board, b7, b8, PieceType.KNIGHT);
+        assertEquals(((PawnPromotion) knightPromotion).getPromotionType(), PieceType.KNIGHT);
+        assertTrue(board.currentPlayer().isMoveLegal(knightPromotion));
+        assertEquals(EncodedMove.toMove(board, EncodedMove.fromMove(knightPromotion)), knightPromotion);
+        assertFalse(knightPromotion.equals(MoveFactory.createMove(board, b7, b8)));
+        assertEquals(knightPromotion.execute().getPiece(b8).getPieceType(), PieceType.KNIGHT);
+
+        // Moves that are not legal here
+        assertSame(MoveFactory.createMove(board, b7, BoardUtils.getCoordinateAtPosition("b6")), Move.INVALID_MOVE);
+        assertFalse(board.currentPlayer().isMoveLegal(Move.INVALID_MOVE));
+        final Move otherMove = MoveFactory.createMove(Board.createInitialBoard(), BoardUtils.getCoordinateAtPosition("e2"),
+                                                      BoardUtils.getCoordinateAtPosition("e4"));
+        assertFalse(board.currentPlayer().isMoveLegal(otherMove));
+    }
+
+    private static Board playMoves(final Board board, final String... coordinates) {
+        Board newBoard = board;
+        for(int i = 0; i < coordinates.length; i += 2){
+            final MoveTransition transition = newBoard.currentPlayer().makeMove(MoveFactory.createMove(newBoard,
+                                                                                BoardUtils.getCoordinateAtPosition(coordinates[i]),
+                                                                                BoardUtils.getCoordinateAtPosition(coordinates[i + 1])));
+            assertTrue(transition.getMoveStatus().isDone());
+            newBoard = transition.getTransitionBoard();
+        }
+        return newBoard;
+    }
+
     private static int calculatedActivesFor(final Board board, final Alliance alliance) {
         int count = 0;
         for (final Piece piece : board.getAllPieces()) {
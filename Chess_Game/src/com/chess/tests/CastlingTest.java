@@ -1,5 +1,6 @@
 package com.chess.tests;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.LinkedHashMap;
@@ -12,6 +13,7 @@ import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.move.Move;
 import com.chess.engine.board.move.MoveFactory;
 import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtils;
 
 public class CastlingTest {
     @Test
@@ -160,4 +162,19 @@ public class CastlingTest {
         
         assertTrue(newBoard.blackPlayer().isCastled());
     }
+
+    @Test
+    public void testCastlingOnlyChecksKingPath(){
+        // The black rook attacks b1, which the King never crosses
+        Board board = FenUtils.createGameFromFEN("1r2k3/8/8/8/8/8/8/R3K3 w Q - 0 1");
+        Move castle = MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("e1"),
+                                             BoardUtils.getCoordinateAtPosition("c1"));
+        assertTrue(board.currentPlayer().makeMove(castle).getMoveStatus().isDone());
+
+        // The black rook attacks d1, which the King has to cross
+        board = FenUtils.createGameFromFEN("3rk3/8/8/8/8/8/8/R3K3 w Q - 0 1");
+        castle = MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("e1"),
+                                        BoardUtils.getCoordinateAtPosition("c1"));
+        assertFalse(board.currentPlayer().makeMove(castle).getMoveStatus().isDone());
+    }
 }
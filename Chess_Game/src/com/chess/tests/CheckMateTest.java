@@ -1,6 +1,7 @@
 package com.chess.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.LinkedHashMap;
@@ -21,6 +22,7 @@ import com.chess.engine.pieces.Rook;
 import com.chess.engine.player.MoveTransition;
 import com.chess.engine.player.ai.MiniMax;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.pgn.FenUtils;
 
 public class CheckMateTest {
 
@@ -324,4 +326,17 @@ public class CheckMateTest {
                    transition.getMoveStatus().isDone());
         assertTrue(transition.getTransitionBoard().currentPlayer().isInCheckMate());
     }
+
+    @Test
+    public void testStaleMate(){
+        // Black is not in check but every King move walks into the queen or the King
+        final Board staleMate = FenUtils.createGameFromFEN("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        assertTrue(staleMate.currentPlayer().isInStaleMate());
+        assertFalse(staleMate.currentPlayer().isInCheckMate());
+
+        // Only a pinned rook could move, and it has to stay on the pin line
+        final Board pinnedRook = FenUtils.createGameFromFEN("k7/r7/8/8/8/8/8/Q6K b - - 0 1");
+        assertFalse(pinnedRook.currentPlayer().isInStaleMate());
+        assertFalse(pinnedRook.currentPlayer().isInCheckMate());
+    }
 }
@@ -75,4 +75,39 @@ public class FENTest {
                      "rnbqkbnr/pp1ppppp/8/2p5/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 0 1");
     }
 
+    @Test
+    public void testCreateGameFromFEN(){
+        final String[] fenStrings = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"
+        };
+        for(final String fenString : fenStrings){
+            assertEquals(FenUtils.createFENFromGame(FenUtils.createGameFromFEN(fenString)), fenString);
+        }
+
+        // The loaded initial position plays like the built one
+        final Board fenBoard = FenUtils.createGameFromFEN(fenStrings[0]);
+        assertEquals(fenBoard.currentPlayer().getLegalMoves().size(), 20);
+        assertEquals(fenBoard.getPiece(BoardUtils.getCoordinateAtPosition("e1")),
+                     Board.createInitialBoard().getPiece(BoardUtils.getCoordinateAtPosition("e1")));
+    }
+
+    @Test
+    public void testCommandLineArgs(){
+        final String fen = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+        final String[] fenAndDepth = (fen + " 4").split(" ");
+        assertEquals(FenUtils.createFENFromGame(FenUtils.createGameFromArgs(fenAndDepth)), fen);
+        assertEquals(FenUtils.depthFromArgs(fenAndDepth, 5), 4);
+
+        // The move counters are numbers too, but they belong to the FEN
+        assertEquals(FenUtils.depthFromArgs(fen.split(" "), 5), 5);
+        assertEquals(FenUtils.createFENFromGame(FenUtils.createGameFromArgs(fen.split(" "))), fen);
+        assertEquals(FenUtils.depthFromArgs("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 3".split(" "), 5), 3);
+        assertEquals(FenUtils.depthFromArgs(new String[]{"6"}, 5), 6);
+        assertEquals(FenUtils.createFENFromGame(FenUtils.createGameFromArgs(new String[0])),
+                     FenUtils.createFENFromGame(Board.createInitialBoard()));
+        assertEquals(FenUtils.depthFromArgs(new String[0], 5), 5);
+    }
 }
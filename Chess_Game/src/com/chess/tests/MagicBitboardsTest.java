@@ -0,0 +1,52 @@
+package com.chess.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoards;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MagicBitboards;
+
+public class MagicBitboardsTest {
+    private static final int NUM_SAMPLES = 2000;
+
+    @Test
+    public void testRandomOccupancies(){
+        final Random random = new Random(42);
+        for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+            for(int i = 0; i < NUM_SAMPLES; i++){
+                // Mix sparse and crowded boards
+                final long occupied = i % 2 == 0 ? random.nextLong() & random.nextLong()
+                                                 : random.nextLong() | random.nextLong();
+                assertSameAttacks(tile, occupied);
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyAndFullBoard(){
+        for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+            assertSameAttacks(tile, BitBoards.EMPTY);
+            assertSameAttacks(tile, BitBoards.FULL);
+        }
+        // Rook on a1 sees the whole first rank and the a-file
+        assertEquals(BitBoards.count(MagicBitboards.rookAttacks(BoardUtils.getCoordinateAtPosition("a1"),
+                                                                BitBoards.EMPTY)), 14);
+        // Queen on d4 of an empty board
+        assertEquals(BitBoards.count(MagicBitboards.queenAttacks(BoardUtils.getCoordinateAtPosition("d4"),
+                                                                 BitBoards.EMPTY)), 27);
+    }
+
+    private static void assertSameAttacks(final int tile, final long occupied){
+        assertEquals(MagicBitboards.rookAttacks(tile, occupied),
+                     AttackTables.slidingAttacks(tile, occupied, AttackTables.ROOK_DIRECTIONS));
+        assertEquals(MagicBitboards.bishopAttacks(tile, occupied),
+                     AttackTables.slidingAttacks(tile, occupied, AttackTables.BISHOP_DIRECTIONS));
+        assertEquals(MagicBitboards.queenAttacks(tile, occupied),
+                     AttackTables.slidingAttacks(tile, occupied, AttackTables.QUEEN_DIRECTIONS));
+    }
+}
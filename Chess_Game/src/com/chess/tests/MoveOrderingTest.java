@@ -0,0 +1,105 @@
+package com.chess.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.MoveOrdering;
+import com.chess.engine.player.ai.MovePicker;
+import com.chess.engine.player.ai.StaticExchangeEvaluator;
+import com.chess.pgn.FenUtils;
+
+public class MoveOrderingTest {
+    @Test
+    public void testCaptureScores(){
+        final int pawnTakesQueen = EncodedMove.create(0, 1, PieceType.PAWN, PieceType.QUEEN, null, 0);
+        final int knightTakesQueen = EncodedMove.create(0, 1, PieceType.KNIGHT, PieceType.QUEEN, null, 0);
+        final int queenTakesRook = EncodedMove.create(0, 1, PieceType.QUEEN, PieceType.ROOK, null, 0);
+        final int kingTakesKnight = EncodedMove.create(0, 1, PieceType.KING, PieceType.KNIGHT, null, 0);
+        final int pawnTakesPawn = EncodedMove.create(0, 1, PieceType.PAWN, PieceType.PAWN, null, 0);
+        final int queenPromotion = EncodedMove.create(8, 0, PieceType.PAWN, null, PieceType.QUEEN, 0);
+
+        // The victim decides first, then the cheaper attacker
+        assertTrue(MoveOrdering.captureScore(pawnTakesQueen) > MoveOrdering.captureScore(knightTakesQueen));
+        assertTrue(MoveOrdering.captureScore(knightTakesQueen) > MoveOrdering.captureScore(queenTakesRook));
+        assertTrue(MoveOrdering.captureScore(queenTakesRook) > MoveOrdering.captureScore(kingTakesKnight));
+        assertTrue(MoveOrdering.captureScore(kingTakesKnight) > MoveOrdering.captureScore(pawnTakesPawn));
+        assertTrue(MoveOrdering.captureScore(queenPromotion) > MoveOrdering.captureScore(queenTakesRook));
+    }
+
+    @Test
+    public void testKillersAndHistory(){
+        final MoveOrdering moveOrdering = new MoveOrdering();
+        final int first = EncodedMove.create(62, 45, PieceType.KNIGHT, null, null, 0);
+        final int second = EncodedMove.create(57, 42, PieceType.KNIGHT, null, null, 0);
+
+        moveOrdering.recordCutoff(Alliance.WHITE, first, 3, 2);
+        moveOrdering.recordCutoff(Alliance.WHITE, second, 3, 4);
+        // The same killer twice does not push out the other one
+        moveOrdering.recordCutoff(Alliance.WHITE, second, 3, 4);
+        assertEquals(moveOrdering.firstKiller(3), second);
+        assertEquals(moveOrdering.secondKiller(3), first);
+        assertEquals(moveOrdering.firstKiller(2), EncodedMove.NULL_MOVE);
+
+        assertEquals(moveOrdering.historyScore(Alliance.WHITE, first), 4);
+        assertEquals(moveOrdering.historyScore(Alliance.WHITE, second), 32);
+        assertEquals(moveOrdering.historyScore(Alliance.BLACK, second), 0);
+        moveOrdering.ageHistory();
+        assertEquals(moveOrdering.historyScore(Alliance.WHITE, second), 16);
+
+        moveOrdering.clear();
+        assertEquals(moveOrdering.firstKiller(3), EncodedMove.NULL_MOVE);
+        assertEquals(moveOrdering.historyScore(Alliance.WHITE, second), 0);
+    }
+
+    @Test
+    public void testOrderedMovePicker(){
+        final SearchPosition position = SearchPosition.fromBoard(
+            FenUtils.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"));
+        final MovePicker movePicker = new MovePicker();
+        movePicker.init(position, EncodedMove.NULL_MOVE, new MoveOrdering(), 0);
+
+        // The noisy moves come out best capture first, the ones losing material after the others
+        int lastScore = Integer.MAX_VALUE;
+        boolean isLosing = false;
+        for(int move = movePicker.next(); EncodedMove.isCapture(move) || EncodedMove.isPromotion(move); move = movePicker.next()){
+            if(StaticExchangeEvaluator.see(position, move) < 0){
+                isLosing = true;
+            }
+            else{
+                assertFalse(isLosing);
+                assertTrue(MoveOrdering.captureScore(move) <= lastScore);
+                lastScore = MoveOrdering.captureScore(move);
+            }
+        }
+        assertTrue(isLosing);
+    }
+
+    @Test
+    public void testOrderingStatistics(){
+        final Board board = FenUtils.createGameFromFEN("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 b - - 0 10");
+        final AlphaBeta ordered = new AlphaBeta(4);
+        final AlphaBeta unordered = new AlphaBeta(4);
+        unordered.setMoveOrderingEnabled(false);
+
+        assertEquals(ordered.execute(board), unordered.execute(board));
+        assertTrue(ordered.getNodeCount() < unordered.getNodeCount());
+        assertTrue(ordered.getStatistics().getFirstMoveCutoffRate() > unordered.getStatistics().getFirstMoveCutoffRate());
+
+        // Every completed iteration records its node count
+        final IterativeDeepening iterativeDeepening = new IterativeDeepening(3, IterativeDeepening.UNLIMITED);
+        iterativeDeepening.execute(board);
+        assertTrue(iterativeDeepening.getStatistics().getNodesToDepth(1) > 0);
+        assertTrue(iterativeDeepening.getStatistics().getNodesToDepth(3) > iterativeDeepening.getStatistics().getNodesToDepth(2));
+        assertEquals(iterativeDeepening.getStatistics().getNodesToDepth(4), 0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.chess.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.perft.ParallelPerft;
+import com.chess.engine.perft.Perft;
+import com.chess.pgn.FenUtils;
+
+public class PerftTest {
+    @Test
+    public void testStartPosition(){
+        final Board board = Board.createInitialBoard();
+        assertEquals(Perft.perft(board, 1), 20);
+        assertEquals(Perft.perft(board, 2), 400);
+        assertEquals(Perft.perft(board, 3), 8902);
+        assertEquals(Perft.perft(board, 4), 197281);
+    }
+
+    @Test
+    public void testKiwipete(){
+        // Castling, pins, en passant and promotions
+        final Board board = FenUtils.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        assertEquals(Perft.perft(board, 1), 48);
+        assertEquals(Perft.perft(board, 2), 2039);
+        assertEquals(Perft.perft(board, 3), 97862);
+    }
+
+    @Test
+    public void testPublishedPositions(){
+        // Position 3: en passant discovered checks along the rank
+        assertEquals(Perft.perft(FenUtils.createGameFromFEN("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"), 5), 674624);
+        // Position 4: in check with promotions and castling available
+        assertEquals(Perft.perft(FenUtils.createGameFromFEN("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"), 3), 9467);
+        // Position 5: promotion with capture next to a King that has lost castling rights
+        assertEquals(Perft.perft(FenUtils.createGameFromFEN("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8"), 3), 62379);
+        // Position 6: symmetrical middle game
+        assertEquals(Perft.perft(FenUtils.createGameFromFEN("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"), 3), 89890);
+    }
+
+    @Test
+    public void testDivide(){
+        final Board board = FenUtils.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final Map<String, Long> counts = Perft.divide(board, 2);
+
+        long nodes = 0;
+        for(final long count : counts.values()){
+            nodes += count;
+        }
+        assertEquals(counts.size(), 48);
+        assertEquals(nodes, 2039);
+        // Known split of the Kiwipete position
+        assertEquals((long) counts.get("e1g1"), 43);
+        assertEquals((long) counts.get("e1c1"), 43);
+        assertEquals((long) counts.get("d5e6"), 46);
+    }
+
+    @Test
+    public void testParallelPerft(){
+        final ParallelPerft parallelPerft = new ParallelPerft(4, 1 << 16);
+        try{
+            final Board board = FenUtils.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+            assertEquals(parallelPerft.perft(board, 4), 4085603);
+            assertEquals(parallelPerft.perft(Board.createInitialBoard(), 5), 4865609);
+
+            // A second run finds the whole tree in the shared hash
+            assertEquals(parallelPerft.perft(board, 4), 4085603);
+            assertEquals(parallelPerft.getHashHitRate(), 1.0, 0.0);
+        }
+        finally{
+            parallelPerft.shutdown();
+        }
+    }
+}
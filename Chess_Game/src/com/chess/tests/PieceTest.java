@@ -1,12 +1,15 @@
 package com.chess.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -21,6 +24,7 @@ import com.chess.engine.pieces.Bishop;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Knight;
 import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.PieceCache;
 import com.chess.engine.pieces.Queen;
 import com.chess.engine.pieces.Rook;
 import com.chess.engine.player.MoveTransition;
@@ -614,4 +618,39 @@ public class PieceTest {
             newBoard = transition.getTransitionBoard(); 
         }
     }
+
+    @Test
+    public void testPiecesAreShared(){
+        final Board board = Board.createInitialBoard();
+        final Move move = MoveFactory.createMove(board,
+                                                 BoardUtils.getCoordinateAtPosition("g1"),
+                                                 BoardUtils.getCoordinateAtPosition("f3"));
+        final Board newBoard = board.currentPlayer().makeMove(move).getTransitionBoard();
+
+        // The moved knight and every untouched piece are the cached instances
+        assertSame(newBoard.getPiece(BoardUtils.getCoordinateAtPosition("f3")), move.getMovedPiece().newPiece(move));
+        assertSame(newBoard.getPiece(BoardUtils.getCoordinateAtPosition("e1")),
+                   board.getPiece(BoardUtils.getCoordinateAtPosition("e1")));
+        assertSame(PieceCache.getKnight(BoardUtils.getCoordinateAtPosition("f3"), Alliance.WHITE, true),
+                   newBoard.getPiece(BoardUtils.getCoordinateAtPosition("f3")));
+        // Cached pieces are equal to the ones created directly
+        assertEquals(PieceCache.getRook(0, Alliance.BLACK, true), new Rook(0, Alliance.BLACK, true));
+    }
+
+    @Test
+    public void testPieceHashCodes(){
+        // Pieces that differ in type, alliance, tile or first move flag hash differently
+        final Set<Integer> hashCodes = new HashSet<>();
+        int pieceCount = 0;
+        for(final Alliance alliance : Alliance.values()){
+            for(final PieceType pieceType : PieceType.values()){
+                for(int tile = 0; tile < BoardUtils.NUM_TILES; tile++){
+                    hashCodes.add(PieceCache.get(pieceType, alliance, tile, true).hashCode());
+                    hashCodes.add(PieceCache.get(pieceType, alliance, tile, false).hashCode());
+                    pieceCount += 2;
+                }
+            }
+        }
+        assertEquals(hashCodes.size(), pieceCount);
+    }
 }
@@ -0,0 +1,105 @@
+package com.chess.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.Move;
+import com.chess.engine.board.move.MoveFactory;
+import com.chess.engine.board.move.MoveList;
+import com.chess.engine.player.ai.MoveOrdering;
+import com.chess.engine.player.ai.MovePicker;
+import com.chess.engine.player.ai.StaticExchangeEvaluator;
+import com.chess.pgn.FenUtils;
+
+public class SEETest {
+    @Test
+    public void testUndefendedCapture(){
+        assertEquals(see("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1", "e5"), 100);
+    }
+
+    @Test
+    public void testDefendedCapture(){
+        // The queen is lost for a pawn
+        assertEquals(see("4k3/8/4p3/3p4/8/8/8/3QK3 w - - 0 1", "d1", "d5"), -800);
+        // A pawn takes back a pawn
+        assertEquals(see("4k3/8/4p3/3p4/4P3/8/8/4K3 w - - 0 1", "e4", "d5"), 0);
+    }
+
+    @Test
+    public void testExchangeSequence(){
+        // Knight for pawn, then knight, rook, bishop and queen trade off on e5
+        assertEquals(see("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3", "e5"), -200);
+    }
+
+    @Test
+    public void testXRayAttackers(){
+        // The rook behind the capturing rook takes back
+        assertEquals(see("3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1", "d2", "d5"), 100);
+        // The queen behind the defending rook takes back last
+        assertEquals(see("3qk3/3r4/8/3p4/8/8/3R4/3RK3 w - - 0 1", "d2", "d5"), -400);
+        // The rook behind the capturing queen takes back the defending queen
+        assertEquals(see("4k3/6q1/5b2/8/8/8/5Q2/4KR2 w - - 0 1", "f2", "f6"), 300);
+    }
+
+    @Test
+    public void testSpecialCaptures(){
+        assertEquals(see("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1", "e5", "d6"), 100);
+        // The queen promotion gains a queen for the pawn besides the knight
+        assertEquals(see("1n2k3/P7/8/8/8/8/8/4K3 w - - 0 1", "a7", "b8"), 1100);
+        // The king only captures what is not defended
+        assertEquals(see("4k3/8/8/8/8/8/3p4/4K3 w - - 0 1", "e1", "d2"), 100);
+    }
+
+    @Test
+    public void testLosingCapturesHeldBack(){
+        final Board board = FenUtils.createGameFromFEN("4k3/8/4p3/3p4/4P3/8/8/3QK3 w - - 0 1");
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        final int pawnTakesPawn = encodedMove(board, "e4", "d5");
+        final int queenTakesPawn = encodedMove(board, "d1", "d5");
+
+        // The even pawn trade first, the queen for a pawn after it
+        final MovePicker movePicker = new MovePicker();
+        movePicker.init(position, EncodedMove.NULL_MOVE, new MoveOrdering(), 0);
+        final MoveList pickedMoves = new MoveList();
+        for(int move = movePicker.next(); move != EncodedMove.NULL_MOVE; move = movePicker.next()){
+            pickedMoves.add(move);
+        }
+        assertEquals(pickedMoves.size(), position.generateLegalMoves(new MoveList()));
+        assertEquals(pickedMoves.get(0), pawnTakesPawn);
+        assertEquals(pickedMoves.get(1), queenTakesPawn);
+
+        // Quiescence does not search it at all, sorted or not
+        movePicker.initNoisy(position, new MoveOrdering(), true);
+        assertEquals(movePicker.next(), pawnTakesPawn);
+        assertEquals(movePicker.next(), EncodedMove.NULL_MOVE);
+        movePicker.initNoisy(position, null, true);
+        assertEquals(movePicker.next(), pawnTakesPawn);
+        assertEquals(movePicker.next(), EncodedMove.NULL_MOVE);
+        // Unless the picker is told to keep it
+        movePicker.initNoisy(position, null, false);
+        final MoveList noisyMoves = new MoveList();
+        for(int move = movePicker.next(); move != EncodedMove.NULL_MOVE; move = movePicker.next()){
+            noisyMoves.add(move);
+        }
+        assertEquals(noisyMoves.size(), 2);
+        assertTrue(noisyMoves.contains(queenTakesPawn));
+    }
+
+    private static int encodedMove(final Board board, final String source, final String destination){
+        return EncodedMove.fromMove(MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(source),
+                                                           BoardUtils.getCoordinateAtPosition(destination)));
+    }
+
+    private static int see(final String fenString, final String source, final String destination){
+        final Board board = FenUtils.createGameFromFEN(fenString);
+        final Move move = MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(source),
+                                                 BoardUtils.getCoordinateAtPosition(destination));
+        return StaticExchangeEvaluator.see(board, move);
+    }
+}
@@ -0,0 +1,289 @@
+package com.chess.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.PieceType;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.LegalMoveGenerator;
+import com.chess.engine.board.SearchPosition;
+import com.chess.engine.board.ZobristHashing;
+import com.chess.engine.board.move.EncodedMove;
+import com.chess.engine.board.move.Move;
+import com.chess.engine.board.move.MoveFactory;
+import com.chess.engine.board.move.MoveList;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.MovePicker;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.pgn.FenUtils;
+import com.google.common.collect.ImmutableList;
+
+public class SearchPositionTest {
+    @Test
+    public void testInitialPosition(){
+        final SearchPosition position = SearchPosition.fromBoard(Board.createInitialBoard());
+
+        assertEquals(position.getSideToMove(), Alliance.WHITE);
+        assertEquals(position.generateLegalMoves(new MoveList()), 20);
+        assertEquals(position.countPseudoLegalMoves(Alliance.BLACK), 20);
+        assertFalse(position.isInCheck(Alliance.WHITE));
+
+        // Known node counts from the initial position
+        assertEquals(countNodes(position, 1), 20);
+        assertEquals(countNodes(position, 2), 400);
+        assertEquals(countNodes(position, 3), 8902);
+    }
+
+    @Test
+    public void testPinsChecksAndEvasions(){
+        // Castling, pins, en passant and promotions, with known node counts
+        final SearchPosition kiwipete = SearchPosition.fromBoard(
+            FenUtils.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"));
+        assertEquals(countNodes(kiwipete, 1), 48);
+        assertEquals(countNodes(kiwipete, 2), 2039);
+        assertEquals(countNodes(kiwipete, 3), 97862);
+
+        // En passant captures that would expose the King along the rank
+        final SearchPosition endGame = SearchPosition.fromBoard(
+            FenUtils.createGameFromFEN("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"));
+        assertEquals(countNodes(endGame, 1), 14);
+        assertEquals(countNodes(endGame, 2), 191);
+        assertEquals(countNodes(endGame, 3), 2812);
+        assertEquals(countNodes(endGame, 4), 43238);
+
+        // White is in check and may only answer with evasions
+        final SearchPosition inCheck = SearchPosition.fromBoard(
+            FenUtils.createGameFromFEN("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"));
+        assertEquals(countNodes(inCheck, 1), 6);
+        assertEquals(countNodes(inCheck, 2), 264);
+        assertEquals(countNodes(inCheck, 3), 9467);
+    }
+
+    @Test
+    public void testMakeUnmakeRestoresPosition(){
+        final Board board = playMoves(Board.createInitialBoard(), "e2", "e4", "d7", "d5", "e4", "e5", "f7", "f5");
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        final String fenBefore = FenUtils.createFENFromGame(position.toBoard());
+
+        final MoveList moves = new MoveList();
+        final int moveCount = position.generateLegalMoves(moves);
+        for(int i = 0; i < moveCount; i++){
+            position.makeMove(moves.get(i));
+            position.unmakeMove();
+            assertEquals(FenUtils.createFENFromGame(position.toBoard()), fenBefore);
+        }
+    }
+
+    @Test
+    public void testBoardConversion(){
+        // En passant capture on f6 is available after f7-f5
+        final Board board = playMoves(Board.createInitialBoard(), "e2", "e4", "d7", "d5", "e4", "e5", "f7", "f5");
+        final SearchPosition position = SearchPosition.fromBoard(board);
+
+        assertEquals(position.getEnPassantSquare(), BoardUtils.getCoordinateAtPosition("f6"));
+        assertEquals(FenUtils.createFENFromGame(position.toBoard()), FenUtils.createFENFromGame(board));
+
+        boolean foundEnPassant = false;
+        final MoveList moves = new MoveList();
+        final int moveCount = position.generateLegalMoves(moves);
+        for(int i = 0; i < moveCount; i++){
+            if(EncodedMove.isEnPassant(moves.get(i))){
+                foundEnPassant = true;
+                position.makeMove(moves.get(i));
+                // The black pawn on f5 was captured
+                assertEquals(position.getPieceCode(BoardUtils.getCoordinateAtPosition("f5")), SearchPosition.NO_PIECE);
+                assertTrue(position.toBoard().getBlackPieces().size() == 15);
+                position.unmakeMove();
+            }
+        }
+        assertTrue(foundEnPassant);
+    }
+
+    @Test
+    public void testMoveAdapters(){
+        final Board board = playMoves(Board.createInitialBoard(), "e2", "e4", "d7", "d5", "e4", "e5", "f7", "f5");
+        final MoveList moves = MoveList.fromMoves(board.currentPlayer().getLegalMoves());
+
+        assertEquals(moves.size(), board.currentPlayer().getLegalMoves().size());
+        assertEquals(moves.toMoves(board), ImmutableList.copyOf(board.currentPlayer().getLegalMoves()));
+        for(int i = 0; i < moves.size(); i++){
+            final Move move = EncodedMove.toMove(board, moves.get(i));
+            assertEquals(EncodedMove.pieceType(moves.get(i)), move.getMovedPiece().getPieceType());
+            assertEquals(EncodedMove.isCapture(moves.get(i)), move.isAttack());
+        }
+        // The en passant capture keeps its flag and the captured pawn
+        final int enPassant = EncodedMove.fromMove(MoveFactory.createMove(board,
+                                                                          BoardUtils.getCoordinateAtPosition("e5"),
+                                                                          BoardUtils.getCoordinateAtPosition("f6")));
+        assertTrue(EncodedMove.isEnPassant(enPassant));
+        assertEquals(EncodedMove.capturedType(enPassant), PieceType.PAWN);
+        assertTrue(moves.contains(enPassant));
+    }
+
+    @Test
+    public void testZobristKeys(){
+        final Board board = FenUtils.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final SearchPosition position = SearchPosition.fromBoard(board);
+        assertEquals(position.getZobristKey(), board.getZobristKey());
+        checkKeys(position, 3);
+        assertEquals(position.getZobristKey(), board.getZobristKey());
+    }
+
+    @Test
+    public void testNullMove(){
+        // The en passant square goes away with the pass and comes back with the unmake
+        final SearchPosition position = SearchPosition.fromBoard(
+            FenUtils.createGameFromFEN("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3"));
+        final String fenBefore = FenUtils.createFENFromGame(position.toBoard());
+        final long key = position.getZobristKey();
+
+        position.makeNullMove();
+        assertEquals(position.getSideToMove(), Alliance.BLACK);
+        assertEquals(position.getZobristKey(), ZobristHashing.computeKey(position));
+        checkKeys(position, 2);
+        position.unmakeNullMove();
+        assertEquals(position.getSideToMove(), Alliance.WHITE);
+        assertEquals(position.getZobristKey(), key);
+        assertEquals(FenUtils.createFENFromGame(position.toBoard()), fenBefore);
+    }
+
+    @Test
+    public void testEvaluationMatchesBoard(){
+        // Positions with promotions for both players, which the board lists once per promotion tile
+        final String[] fens = {"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                               "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                               "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1"};
+        for(final String fen : fens){
+            checkEvaluation(FenUtils.createGameFromFEN(fen), 2);
+        }
+    }
+
+    // The board and the search position score every position of the tree the same
+    private static void checkEvaluation(final Board board, final int depth){
+        final StandardBoardEvaluator evaluator = new StandardBoardEvaluator();
+        assertEquals(evaluator.evaluate(SearchPosition.fromBoard(board), 0), evaluator.evaluate(board, 0));
+        if(depth == 0){
+            return;
+        }
+        for(final Move move : board.currentPlayer().getLegalMoves()){
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if(transition.getMoveStatus().isDone()){
+                checkEvaluation(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+    }
+
+    // Every make matches a full recompute and every unmake restores the key
+    private static void checkKeys(final SearchPosition position, final int depth){
+        final MoveList moves = new MoveList();
+        final int moveCount = position.generateLegalMoves(moves);
+        final long key = position.getZobristKey();
+        for(int i = 0; i < moveCount; i++){
+            position.makeMove(moves.get(i));
+            assertEquals(position.getZobristKey(), ZobristHashing.computeKey(position));
+            if(depth > 1){
+                checkKeys(position, depth - 1);
+            }
+            position.unmakeMove();
+            assertEquals(position.getZobristKey(), key);
+        }
+    }
+
+    @Test
+    public void testHasLegalMove(){
+        // The early exit agrees with full generation for both sides in every node
+        final String[] fenStrings = {"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                                     "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                                     "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1",
+                                     "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3"};
+        for(final String fenString : fenStrings){
+            checkHasLegalMove(SearchPosition.fromBoard(FenUtils.createGameFromFEN(fenString)), 2);
+        }
+    }
+
+    @Test
+    public void testMovePicker(){
+        final SearchPosition position = SearchPosition.fromBoard(
+            FenUtils.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"));
+        final MoveList legalMoves = new MoveList();
+        position.generateLegalMoves(legalMoves);
+        final MoveList quietMoves = new MoveList();
+        LegalMoveGenerator.generateQuietMoves(position, quietMoves);
+
+        final int hashMove = quietMoves.get(quietMoves.size() - 1);
+        final int killer = quietMoves.get(0);
+        // A move of the opponent is never legal here
+        final int illegalKiller = EncodedMove.create(BoardUtils.getCoordinateAtPosition("a7"), BoardUtils.getCoordinateAtPosition("a6"),
+                                                     PieceType.PAWN, null, null, 0);
+        final MovePicker movePicker = new MovePicker();
+        movePicker.init(position, hashMove, illegalKiller, killer);
+
+        // Hash move first, then the noisy moves, then the killer, each legal move exactly once
+        final MoveList pickedMoves = new MoveList();
+        for(int move = movePicker.next(); move != EncodedMove.NULL_MOVE; move = movePicker.next()){
+            assertFalse(pickedMoves.contains(move));
+            pickedMoves.add(move);
+        }
+        assertEquals(pickedMoves.size(), legalMoves.size());
+        for(int i = 0; i < legalMoves.size(); i++){
+            assertTrue(pickedMoves.contains(legalMoves.get(i)));
+        }
+        assertEquals(pickedMoves.get(0), hashMove);
+        final int noisyCount = legalMoves.size() - quietMoves.size();
+        for(int i = 1; i <= noisyCount; i++){
+            assertTrue(EncodedMove.isCapture(pickedMoves.get(i)) || EncodedMove.isPromotion(pickedMoves.get(i)));
+        }
+        assertEquals(pickedMoves.get(noisyCount + 1), killer);
+    }
+
+    private static void checkHasLegalMove(final SearchPosition position, final int depth){
+        final MoveList moves = new MoveList();
+        for(final Alliance alliance : Alliance.values()){
+            assertEquals(LegalMoveGenerator.hasLegalMove(position, alliance),
+                         LegalMoveGenerator.generateLegalMoves(position, alliance, moves) > 0);
+        }
+        if(depth == 0){
+            return;
+        }
+        final int moveCount = position.generateLegalMoves(moves);
+        for(int i = 0; i < moveCount; i++){
+            position.makeMove(moves.get(i));
+            checkHasLegalMove(position, depth - 1);
+            position.unmakeMove();
+        }
+    }
+
+    private static long countNodes(final SearchPosition position, final int depth){
+        final MoveList moves = new MoveList();
+        final int moveCount = position.generateLegalMoves(moves);
+        if(depth == 1){
+            return moveCount;
+        }
+        long nodes = 0;
+        for(int i = 0; i < moveCount; i++){
+            position.makeMove(moves.get(i));
+            nodes += countNodes(position, depth - 1);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private static Board playMoves(final Board board, final String... coordinates){
+        Board newBoard = board;
+        for(int i = 0; i < coordinates.length; i += 2){
+            final Move newMove = MoveFactory.createMove(newBoard,
+                                                        BoardUtils.getCoordinateAtPosition(coordinates[i]),
+                                                        BoardUtils.getCoordinateAtPosition(coordinates[i + 1]));
+            final MoveTransition transition = newBoard.currentPlayer().makeMove(newMove);
+            assertTrue("Move from " + coordinates[i] + " to " + coordinates[i + 1] + " NOT found in legal moves!",
+                       transition.getMoveStatus().isDone());
+            newBoard = transition.getTransitionBoard();
+        }
+        return newBoard;
+    }
+}
@@ -0,0 +1,122 @@
+package com.chess.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.move.Move;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.pgn.FenUtils;
+
+public class TranspositionTableTest {
+    @Test
+    public void testStoreAndProbe(){
+        final TranspositionTable table = new TranspositionTable(1);
+        final long key = 0x123456789ABCDEFL;
+        assertEquals(table.probe(key), TranspositionTable.NO_ENTRY);
+
+        table.store(key, 7, TranspositionTable.LOWER_BOUND, -123456, 0xABCDEF);
+        final long entry = table.probe(key);
+        assertEquals(TranspositionTable.depth(entry), 7);
+        assertEquals(TranspositionTable.bound(entry), TranspositionTable.LOWER_BOUND);
+        assertEquals(TranspositionTable.score(entry), -123456);
+        assertEquals(TranspositionTable.move(entry), 0xABCDEF);
+
+        // Same bucket, other position
+        assertEquals(table.probe(key ^ (1L << 62)), TranspositionTable.NO_ENTRY);
+
+        // A result without a best move keeps the known one
+        table.store(key, 8, TranspositionTable.UPPER_BOUND, 5, 0);
+        assertEquals(TranspositionTable.move(table.probe(key)), 0xABCDEF);
+        assertEquals(TranspositionTable.depth(table.probe(key)), 8);
+
+        table.clear();
+        assertEquals(table.probe(key), TranspositionTable.NO_ENTRY);
+    }
+
+    @Test
+    public void testReplacement(){
+        final TranspositionTable table = new TranspositionTable(1);
+        // Three positions of the same bucket of two
+        final long deep = 5L << 40;
+        final long shallow = 6L << 40;
+        final long other = 7L << 40;
+        table.store(deep, 10, TranspositionTable.EXACT, 1, 1);
+        table.store(shallow, 2, TranspositionTable.EXACT, 2, 2);
+        table.store(other, 4, TranspositionTable.EXACT, 3, 3);
+        // The shallower entry made room
+        assertTrue(table.probe(deep) != TranspositionTable.NO_ENTRY);
+        assertEquals(table.probe(shallow), TranspositionTable.NO_ENTRY);
+        assertTrue(table.probe(other) != TranspositionTable.NO_ENTRY);
+
+        // In a new search the old entries make room whatever their depth
+        table.newSearch();
+        table.store(shallow, 1, TranspositionTable.EXACT, 2, 2);
+        table.store(5L << 41, 1, TranspositionTable.EXACT, 4, 4);
+        assertEquals(table.probe(deep), TranspositionTable.NO_ENTRY);
+        assertEquals(table.probe(other), TranspositionTable.NO_ENTRY);
+    }
+
+    @Test
+    public void testHashfull(){
+        final TranspositionTable table = new TranspositionTable(1);
+        assertEquals(table.hashfull(), 0);
+        for(long key = 0; key < 1 << 16; key++){
+            table.store(key * 0x9E3779B97F4A7C15L, 1, TranspositionTable.EXACT, 0, 1);
+        }
+        assertTrue(table.hashfull() > 500);
+        // Entries of older searches do not count
+        table.newSearch();
+        assertEquals(table.hashfull(), 0);
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException{
+        final TranspositionTable table = new TranspositionTable(1);
+        final AtomicBoolean isCorrupt = new AtomicBoolean();
+        final List<Thread> threads = new ArrayList<>();
+        for(int t = 0; t < 4; t++){
+            final int seed = t;
+            final Thread thread = new Thread(() -> {
+                for(int i = 0; i < 200000; i++){
+                    // Few keys, so the threads keep writing over each other
+                    final long key = ((i * 31L + seed) % 512) * 0x9E3779B97F4A7C15L;
+                    final int value = (int) (key >>> 40);
+                    table.store(key, value & 0x3F, TranspositionTable.EXACT, value & 0xFFFFF, value & 0xFFFFFF);
+                    final long entry = table.probe(key);
+                    // Every entry read back was written whole for its key
+                    if(entry != TranspositionTable.NO_ENTRY && (TranspositionTable.move(entry) != (value & 0xFFFFFF)
+                                                                || TranspositionTable.score(entry) != (value & 0xFFFFF))){
+                        isCorrupt.set(true);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for(final Thread thread : threads){
+            thread.join();
+        }
+        assertTrue(!isCorrupt.get());
+    }
+
+    @Test
+    public void testAlphaBetaWithTable(){
+        final Board board = FenUtils.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final AlphaBeta plain = new AlphaBeta(4);
+        final AlphaBeta hashed = new AlphaBeta(4, new TranspositionTable(16));
+        plain.execute(board);
+        final Move move = hashed.execute(board);
+
+        assertTrue(board.currentPlayer().isMoveLegal(move));
+        assertTrue(hashed.getNodeCount() < plain.getNodeCount());
+        assertTrue(hashed.getTranspositionTable().hashfull() > 0);
+    }
+}